@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сверка результата JMH (-prof gc -rf json) с базой benchmarks/baseline.json.
+ * <p>
+ * Сравниваются байты на операцию (gc.alloc.rate.norm): они почти не зависят от машины, а время
+ * на общих раннерах CI плавает на десятки процентов, поэтому выводится только для сведения.
+ * Проверка падает, если аллокации выросли больше порога или бенчмарк из базы пропал из результата.
+ * <pre>
+ * java -cp benchmarks.jar ru.practicum.shareit.benchmarks.BaselineCheck jmh-result.json baseline.json 10
+ * java -cp benchmarks.jar ru.practicum.shareit.benchmarks.BaselineCheck --update jmh-result.json baseline.json
+ * </pre>
+ */
+public final class BaselineCheck {
+	private static final String ALLOCATION = "gc.alloc.rate.norm";
+	// Бенчмарки без аллокаций дают доли байта шума, относительный порог к ним неприменим
+	private static final double ALLOCATION_SLACK_BYTES = 64;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private BaselineCheck() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 3 && args[0].equals("--update")) {
+			MAPPER.writeValue(Path.of(args[2]).toFile(), allocations(Path.of(args[1])));
+			return;
+		}
+		if (args.length != 3) {
+			System.err.println("Аргументы: <результат JMH> <база> <порог, %> или --update <результат JMH> <база>");
+			System.exit(2);
+		}
+
+		Map<String, Double> result = allocations(Path.of(args[0]));
+		Map<String, Double> baseline = MAPPER.readValue(Path.of(args[1]).toFile(),
+				MAPPER.getTypeFactory().constructMapType(TreeMap.class, String.class, Double.class));
+		double threshold = Double.parseDouble(args[2]) / 100;
+
+		List<String> regressions = new ArrayList<>();
+		baseline.forEach((benchmark, expected) -> {
+			Double actual = result.get(benchmark);
+			if (actual == null) {
+				regressions.add(benchmark + ": нет в результате прогона");
+				return;
+			}
+
+			System.out.printf("%-70s %12.1f B/op (база %12.1f)%n", benchmark, actual, expected);
+			if (actual > expected * (1 + threshold) + ALLOCATION_SLACK_BYTES) {
+				regressions.add(String.format("%s: %.1f B/op при базе %.1f B/op", benchmark, actual, expected));
+			}
+		});
+		result.keySet().stream()
+				.filter(benchmark -> !baseline.containsKey(benchmark))
+				.forEach(benchmark -> System.out.println(benchmark + ": нет в базе, обновите её через --update"));
+
+		if (!regressions.isEmpty()) {
+			System.err.printf("Аллокации выросли больше чем на %s%%:%n", args[2]);
+			regressions.forEach(System.err::println);
+			System.exit(1);
+		}
+	}
+
+	// Байты на операцию, округлённые до целых, по имени бенчмарка с параметрами:
+	// MapperBenchmark.mapToBookingDto:size=10
+	private static Map<String, Double> allocations(Path jmhResult) throws IOException {
+		Map<String, Double> allocations = new TreeMap<>();
+		for (JsonNode run : MAPPER.readTree(jmhResult.toFile())) {
+			JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION).path("score");
+			if (allocation.isMissingNode()) {
+				throw new IllegalArgumentException("В результате нет " + ALLOCATION + ", запустите JMH с -prof gc");
+			}
+
+			String benchmark = run.get("benchmark").asText();
+			StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+					benchmark.lastIndexOf('.') - 1) + 1));
+			Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+			while (params.hasNext()) {
+				Map.Entry<String, JsonNode> param = params.next();
+				name.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+			}
+			allocations.put(name.toString(), (double) Math.round(allocation.asDouble()));
+		}
+		return allocations;
+	}
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Детерминированные наборы сущностей для бенчмарков.
+ */
+final class BenchmarkData {
+	static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 1, 12, 0);
+
+	private static final String[] NAMES = {"Дрель", "Перфоратор", "Лестница", "Палатка", "Велосипед", "Отвертка"};
+
+	private BenchmarkData() {
+	}
+
+	static User user(long id) {
+		return new User(id, "user" + id + "@mail.ru", "Пользователь " + id, 0L);
+	}
+
+	static Item item(long id, User owner) {
+		String name = NAMES[(int) (id % NAMES.length)];
+		return new Item(id, name + " " + id, name + " в хорошем состоянии, описание вещи номер " + id,
+				true, owner, null, 0L);
+	}
+
+	static List<Item> items(int count) {
+		User owner = user(1L);
+		List<Item> items = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			items.add(item(id, owner));
+		}
+
+		return items;
+	}
+
+	static List<Booking> bookings(int count) {
+		User owner = user(1L);
+		User booker = user(2L);
+		List<Booking> bookings = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			bookings.add(new Booking(id, NOW.plusDays(id), NOW.plusDays(id + 1), item(id, owner),
+					Status.APPROVED, booker, 0L));
+		}
+
+		return bookings;
+	}
+
+	static List<Comment> comments(Item item, int count) {
+		List<Comment> comments = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			comments.add(new Comment(id, "Отличная вещь, комментарий " + id, item, user(id + 1), NOW.minusDays(id), 0L));
+		}
+
+		return comments;
+	}
+
+	static ItemRequest request(long id) {
+		return new ItemRequest(id, "Нужна дрель на выходные", user(2L), NOW, 0L);
+	}
+}
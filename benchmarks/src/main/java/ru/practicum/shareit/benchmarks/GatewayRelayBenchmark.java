@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Путь ответа server через gateway теми же конвертерами, что используют RestTemplate и Spring MVC:
+ * objectTree — чтение JSON в Object (Map/List) и повторная запись, passThrough — чтение и запись byte[].
+ * Экономию памяти показывает gc.alloc.rate.norm при запуске с -prof gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayRelayBenchmark {
+	@Param({"10", "100", "1000"})
+	int size;
+
+	private byte[] serverResponse;
+	private MappingJackson2HttpMessageConverter jsonConverter;
+	private ByteArrayHttpMessageConverter bytesConverter;
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		serverResponse = objectMapper.writeValueAsBytes(BenchmarkData.bookings(size).stream()
+				.map(BookingMapper::mapToBookingDto)
+				.toList());
+		jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+		bytesConverter = new ByteArrayHttpMessageConverter();
+	}
+
+	@Benchmark
+	public int objectTree() throws IOException {
+		Object body = jsonConverter.read(Object.class, new ServerResponse(serverResponse));
+		ClientResponse response = new ClientResponse(serverResponse.length);
+		jsonConverter.write(body, MediaType.APPLICATION_JSON, response);
+
+		return response.body.size();
+	}
+
+	@Benchmark
+	public int passThrough() throws IOException {
+		byte[] body = bytesConverter.read(byte[].class, new ServerResponse(serverResponse));
+		ClientResponse response = new ClientResponse(serverResponse.length);
+		bytesConverter.write(body, MediaType.APPLICATION_JSON, response);
+
+		return response.body.size();
+	}
+
+	private static class ServerResponse implements HttpInputMessage {
+		private final HttpHeaders headers = new HttpHeaders();
+		private final byte[] body;
+
+		ServerResponse(byte[] body) {
+			this.body = body;
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			headers.setContentLength(body.length);
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+
+	// Буфер заранее нужного размера, чтобы в замер не попадало его расширение
+	private static class ClientResponse implements HttpOutputMessage {
+		private final HttpHeaders headers = new HttpHeaders();
+		private final ByteArrayOutputStream body;
+
+		ClientResponse(int expectedLength) {
+			body = new ByteArrayOutputStream(expectedLength);
+		}
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemDetailsDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Карточка вещи для владельца (GET /items/{id}) через сервис приложения и H2 в памяти: вещь с датами
+ * последнего и следующего бронирования одним запросом и отзывы с авторами вторым.
+ * Число бронирований вещи показывает, во что обходятся подзапросы дат на длинной истории.
+ * Код Spring Data и Hibernate компилируется JIT дольше мапперов, поэтому прогрев длиннее.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ItemDetailsBenchmark {
+	private static final long OWNER_ID = 1L;
+	private static final long BOOKER_ID = 2L;
+	private static final long ITEM_ID = 1L;
+	private static final int COMMENTS = 10;
+
+	@Param({"10", "1000"})
+	int bookings;
+
+	private ConfigurableApplicationContext context;
+	private ItemService itemService;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(ShareItServer.class)
+				.web(WebApplicationType.NONE)
+				// Аргументы командной строки перекрывают application.properties server с PostgreSQL
+				.run("--spring.datasource.driverClassName=org.h2.Driver",
+						"--spring.datasource.url=jdbc:h2:mem:item-details",
+						"--spring.datasource.username=shareit",
+						"--spring.datasource.password=shareit",
+						"--logging.level.root=WARN",
+						"--logging.level.org.springframework.transaction.interceptor=WARN",
+						"--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+		itemService = context.getBean(ItemService.class);
+		seed(context.getBean(JdbcTemplate.class));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public ItemDetailsDto findItemById() {
+		return itemService.findItemById(OWNER_ID, ITEM_ID);
+	}
+
+	// Половина бронирований в прошлом, половина в будущем, все подтверждены
+	private void seed(JdbcTemplate jdbcTemplate) {
+		for (long userId : new long[]{OWNER_ID, BOOKER_ID}) {
+			jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+					userId, "Пользователь " + userId, "user" + userId + "@mail.ru");
+		}
+		jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) VALUES (?, ?, ?, ?, ?)",
+				ITEM_ID, "Дрель", "Дрель ударная", true, OWNER_ID);
+
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < bookings; i++) {
+			LocalDateTime start = i % 2 == 0 ? now.minusDays(2L * (i + 1)) : now.plusDays(2L * (i + 1));
+			jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, status, booker_id) " +
+							"VALUES (?, ?, ?, ?, 'APPROVED', ?)",
+					i + 1, start, start.plusDays(1), ITEM_ID, BOOKER_ID);
+		}
+		for (int i = 0; i < COMMENTS; i++) {
+			jdbcTemplate.update("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+					i + 1, "Отзыв " + (i + 1), ITEM_ID, BOOKER_ID, now.minusDays(1));
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.TrigramIndexItemSearchEngine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу вещей в памяти сервера: частая триграмма, редкая подстрока и запрос короче триграммы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchIndexBenchmark {
+	@Param({"1000", "100000"})
+	int items;
+
+	@Param({"дрель", "номер 42", "др"})
+	String query;
+
+	private TrigramIndexItemSearchEngine searchEngine;
+
+	@Setup
+	public void setUp() {
+		// Репозиторий нужен только для перестроения индекса при старте приложения
+		searchEngine = new TrigramIndexItemSearchEngine(null, new SimpleMeterRegistry());
+		BenchmarkData.items(items).forEach(searchEngine::index);
+	}
+
+	@Benchmark
+	public List<Item> search() {
+		return searchEngine.search(query, 0, 10);
+	}
+}
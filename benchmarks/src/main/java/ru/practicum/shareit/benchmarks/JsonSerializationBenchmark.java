@@ -0,0 +1,54 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.ItemDetailsDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация ответов списочных эндпоинтов тем же набором модулей Jackson, что и в приложении.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+	@Param({"10", "100"})
+	int size;
+
+	private ObjectMapper objectMapper;
+	private List<ItemDetailsDto> items;
+	private List<BookingDto> bookings;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		items = BenchmarkData.items(size).stream()
+				.map(item -> ItemMapper.mapToItemDetailsDto(item, BenchmarkData.comments(item, 3),
+						Optional.of(BenchmarkData.NOW.minusDays(1)), Optional.of(BenchmarkData.NOW.plusDays(1))))
+				.toList();
+		bookings = BenchmarkData.bookings(size).stream()
+				.map(BookingMapper::mapToBookingDto)
+				.toList();
+	}
+
+	@Benchmark
+	public byte[] serializeItemDetails() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(items);
+	}
+
+	@Benchmark
+	public byte[] serializeBookings() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(bookings);
+	}
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.dto.ItemDetailsDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+	@Param({"10", "100"})
+	int size;
+
+	private List<Booking> bookings;
+	private Item item;
+	private List<Comment> comments;
+	private ItemRequest request;
+	private List<Item> answers;
+
+	@Setup
+	public void setUp() {
+		bookings = BenchmarkData.bookings(size);
+		item = BenchmarkData.item(1L, BenchmarkData.user(1L));
+		comments = BenchmarkData.comments(item, size);
+		request = BenchmarkData.request(1L);
+		answers = BenchmarkData.items(size);
+	}
+
+	@Benchmark
+	public void mapToBookingDto(Blackhole blackhole) {
+		for (Booking booking : bookings) {
+			blackhole.consume(BookingMapper.mapToBookingDto(booking));
+		}
+	}
+
+	@Benchmark
+	public ItemDetailsDto mapToItemDetailsDto() {
+		return ItemMapper.mapToItemDetailsDto(item, comments,
+				Optional.of(BenchmarkData.NOW.minusDays(1)), Optional.<LocalDateTime>empty());
+	}
+
+	@Benchmark
+	public ItemRequestDto mapToItemRequestDto() {
+		return ItemRequestMapper.mapToItemRequestDto(request, answers);
+	}
+}
@@ -3,16 +3,18 @@ package ru.practicum.shareit.booking;
 import jakarta.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.ApproveBookingsRequest;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.enums.State;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -20,11 +22,9 @@ public class BookingClient extends BaseClient {
 	private static final String API_PREFIX = "/bookings";
 
 	@Autowired
-	public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-		super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-				.build()
-		);
+	public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+	                     GatewayResponseCache responseCache) {
+		super(responseCache.wrap(API_PREFIX, transportFactory.create(serverUrl + API_PREFIX)));
 	}
 
 	public ResponseEntity<Object> create(Long userId, CreateBookingRequest request) {
@@ -45,18 +45,51 @@ public class BookingClient extends BaseClient {
 		return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
 	}
 
+	public ResponseEntity<Object> approveAll(Long userId, Boolean approved, ApproveBookingsRequest request) {
+		Map<String, Object> parameters = Map.of("approved", approved);
+
+		return patch("?approved={approved}", userId, parameters, request);
+	}
+
 	public ResponseEntity<Object> findBooking(Long userId, Long bookingId) {
 		return get("/" + bookingId, userId);
 	}
 
-	public ResponseEntity<Object> findBookings(@Nullable String pathPart, Long userId, State state) {
-		Map<String, Object> parameters = Map.of("state", state.name());
+	public ResponseEntity<Object> findBookings(@Nullable String pathPart,
+	                                           Long userId,
+	                                           State state,
+	                                           Integer from,
+	                                           Integer size,
+	                                           @Nullable Long after) {
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("state", state.name());
+		parameters.put("from", from);
+		parameters.put("size", size);
 
 		String path = "";
 		if (pathPart != null) {
 			path = path + pathPart;
 		}
 
-		return get(path + "?state={state}", userId, parameters);
+		path = path + "?state={state}&from={from}&size={size}";
+		if (after != null) {
+			parameters.put("after", after);
+			path = path + "&after={after}";
+		}
+
+		return get(path, userId, parameters);
+	}
+
+	public ResponseEntity<Object> streamOwnerBookings(Long userId, State state, @Nullable Long after) {
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("state", state.name());
+
+		String path = "/owner?state={state}";
+		if (after != null) {
+			parameters.put("after", after);
+			path = path + "&after={after}";
+		}
+
+		return getStream(path, userId, parameters, MediaType.APPLICATION_NDJSON);
 	}
 }
\ No newline at end of file
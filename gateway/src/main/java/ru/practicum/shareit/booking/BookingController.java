@@ -1,13 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.ApproveBookingsRequest;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
 import ru.practicum.shareit.enums.State;
@@ -57,6 +61,15 @@ public class BookingController {
 		return bookingClient.approve(bookingId, userId, approved);
 	}
 
+	@PatchMapping
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<Object> approveAll(@RequestHeader(headerUserId) Long userId,
+	                                         @RequestParam(name = "approved", defaultValue = "false") Boolean approved,
+	                                         @Valid @RequestBody ApproveBookingsRequest request) {
+		log.info("Массовое подтверждение бронирований {} владельцем с id = {}", request.getBookingIds(), userId);
+		return bookingClient.approveAll(userId, approved, request);
+	}
+
 	@GetMapping(id)
 	@ResponseStatus(HttpStatus.OK)
 	public ResponseEntity<Object> findById(@RequestHeader(headerUserId) Long userId,
@@ -69,21 +82,42 @@ public class BookingController {
 	@ResponseStatus(HttpStatus.OK)
 	public ResponseEntity<Object> findAllByBooker(@RequestHeader(headerUserId) Long userId,
 	                                              @RequestParam(name = "state", defaultValue = "ALL")
-	                                              String stateParam) {
+	                                              String stateParam,
+	                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+	                                              Integer from,
+	                                              @Positive @RequestParam(name = "size", defaultValue = "10")
+	                                              Integer size,
+	                                              @RequestParam(name = "after", required = false) Long after) {
 		log.info("Получения всех бронирований пользователя с id = {}, и статусом {}", userId, stateParam);
 		State state = State.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Неизвестное состояние: " + stateParam));
-		return bookingClient.findBookings(null, userId, state);
+		return bookingClient.findBookings(null, userId, state, from, size, after);
 	}
 
 	@GetMapping(owner)
 	@ResponseStatus(HttpStatus.OK)
 	public ResponseEntity<Object> findAllByOwner(@RequestHeader(headerUserId) Long userId,
 	                                             @RequestParam(name = "state", defaultValue = "ALL")
-	                                             String stateParam) {
+	                                             String stateParam,
+	                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+	                                             Integer from,
+	                                             @Positive @RequestParam(name = "size", defaultValue = "10")
+	                                             Integer size,
+	                                             @RequestParam(name = "after", required = false) Long after) {
 		log.info("Получение всех бронирований вещей со статусом {} от владельца с id = {}", stateParam, userId);
 		State state = State.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Неизвестное состояние: " + stateParam));
-		return bookingClient.findBookings(owner, userId, state);
+		return bookingClient.findBookings(owner, userId, state, from, size, after);
+	}
+
+	@GetMapping(value = owner, produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<Object> streamAllByOwner(@RequestHeader(headerUserId) Long userId,
+	                                               @RequestParam(name = "state", defaultValue = "ALL")
+	                                               String stateParam,
+	                                               @RequestParam(name = "after", required = false) Long after) {
+		log.info("Потоковая выдача бронирований вещей со статусом {} владельцу с id = {}", stateParam, userId);
+		State state = State.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Неизвестное состояние: " + stateParam));
+		return bookingClient.streamOwnerBookings(userId, state, after);
 	}
 }
\ No newline at end of file
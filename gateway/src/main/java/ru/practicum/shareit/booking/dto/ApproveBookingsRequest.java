@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ApproveBookingsRequest {
+
+	@NotEmpty(message = "Список бронирований не может быть пустым")
+	@Size(max = 1000, message = "За один запрос можно подтвердить не более 1000 бронирований")
+	List<@NotNull(message = "ID бронирования не может быть пустым") Long> bookingIds;
+}
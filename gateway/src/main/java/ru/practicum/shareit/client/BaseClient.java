@@ -1,18 +1,26 @@
 package ru.practicum.shareit.client;
 
 import jakarta.annotation.Nullable;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
-import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
-	protected final RestTemplate rest;
+	protected final ServerTransport transport;
 
 	public BaseClient(RestTemplate rest) {
-		this.rest = rest;
+		this(new RestTemplateServerTransport(rest));
+	}
+
+	// Транспорт выбирается свойством shareit-server.transport (ServerTransportConfig)
+	public BaseClient(ServerTransport transport) {
+		this.transport = transport;
 	}
 
 	protected ResponseEntity<Object> get(String path) {
@@ -27,6 +35,17 @@ public class BaseClient {
 		return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
 	}
 
+	// Ответ server в формате accept передаётся клиенту по мере получения, без сборки тела в памяти gateway
+	protected ResponseEntity<Object> getStream(String path,
+	                                           Long userId,
+	                                           @Nullable Map<String, Object> parameters,
+	                                           MediaType accept) {
+		HttpHeaders headers = defaultHeaders(userId);
+		headers.setAccept(List.of(accept));
+
+		return transport.stream(HttpMethod.GET, path, new HttpEntity<>(headers), parameters);
+	}
+
 	protected <T> ResponseEntity<Object> post(String path, T body) {
 		return post(path, null, null, body);
 	}
@@ -42,6 +61,14 @@ public class BaseClient {
 		return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
 	}
 
+	// Тело клиента уходит на server потоком, с исходным типом содержимого и без разбора в gateway
+	protected ResponseEntity<Object> postStream(String path, Long userId, MediaType contentType, InputStream body) {
+		HttpHeaders headers = defaultHeaders(userId);
+		headers.setContentType(contentType);
+
+		return transport.exchange(HttpMethod.POST, path, new HttpEntity<>(new InputStreamResource(body), headers), null);
+	}
+
 	protected <T> ResponseEntity<Object> put(String path, Long userId, T body) {
 		return put(path, userId, null, body);
 	}
@@ -89,19 +116,13 @@ public class BaseClient {
 	                                                      Long userId,
 	                                                      @Nullable Map<String, Object> parameters,
 	                                                      @Nullable T body) {
-		HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-		ResponseEntity<Object> shareitServerResponse;
-		try {
-			if (parameters != null) {
-				shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-			} else {
-				shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-			}
-		} catch (HttpStatusCodeException e) {
-			return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+		HttpHeaders headers = defaultHeaders(userId);
+		if (method == HttpMethod.GET) {
+			copyConditionalHeaders(headers);
 		}
-		return prepareGatewayResponse(shareitServerResponse);
+		HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+		return transport.exchange(method, path, requestEntity, parameters);
 	}
 
 	private HttpHeaders defaultHeaders(Long userId) {
@@ -114,17 +135,13 @@ public class BaseClient {
 		return headers;
 	}
 
-	private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-		if (response.getStatusCode().is2xxSuccessful()) {
-			return response;
-		}
-
-		ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-		if (response.hasBody()) {
-			return responseBuilder.body(response.getBody());
+	// If-None-Match клиента передаётся server: неизменившийся ответ вернётся как 304 без тела
+	private static void copyConditionalHeaders(HttpHeaders headers) {
+		if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+			String ifNoneMatch = attributes.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+			if (ifNoneMatch != null) {
+				headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+			}
 		}
-
-		return responseBuilder.build();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Транспорт с кэшем ответов, см. {@link GatewayResponseCache}.
+ */
+class CachingServerTransport implements ServerTransport {
+	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+	private final String region;
+	private final ServerTransport delegate;
+	private final GatewayResponseCache cache;
+
+	CachingServerTransport(String region, ServerTransport delegate, GatewayResponseCache cache) {
+		this.region = region;
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public ResponseEntity<Object> exchange(HttpMethod method,
+	                                       String path,
+	                                       HttpEntity<?> request,
+	                                       @Nullable Map<String, Object> parameters) {
+		String userId = request.getHeaders().getFirst(USER_ID_HEADER);
+		if (method != HttpMethod.GET) {
+			ResponseEntity<Object> response;
+			try {
+				response = delegate.exchange(method, path, request, parameters);
+			} catch (RuntimeException e) {
+				// Ответ не получен: изменение могло примениться на server
+				cache.evictAffectedBy(region, method, path, userId);
+				throw e;
+			}
+			// Отклонённый server запрос ничего не изменил
+			if (response.getStatusCode().is2xxSuccessful()) {
+				cache.evictAffectedBy(region, method, path, userId);
+			}
+			return response;
+		}
+
+		if (!cache.isCached(region, path)) {
+			return delegate.exchange(method, path, request, parameters);
+		}
+
+		GatewayResponseCache.Key key = new GatewayResponseCache.Key(region, path,
+				parameters != null ? new HashMap<>(parameters) : Map.of(), userId);
+		ResponseEntity<Object> cached = cache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		long[] generation = cache.generation(key);
+		ResponseEntity<Object> response = delegate.exchange(method, path, request, parameters);
+		if (response.getStatusCode().is2xxSuccessful()) {
+			response = buffered(response);
+			cache.put(key, generation, response);
+		}
+
+		return response;
+	}
+
+	// Потоковое тело транспорта читается один раз: для кэша оно собирается в массив байт
+	private static ResponseEntity<Object> buffered(ResponseEntity<Object> response) {
+		if (!(response.getBody() instanceof StreamingResponseBody body)) {
+			return response;
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			body.writeTo(bytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return new ResponseEntity<>(bytes.toByteArray(), response.getHeaders(), response.getStatusCode());
+	}
+
+	// Потоковые ответы не кэшируются: их тело читается один раз, по мере передачи клиенту
+	@Override
+	public ResponseEntity<Object> stream(HttpMethod method,
+	                                     String path,
+	                                     HttpEntity<?> request,
+	                                     @Nullable Map<String, Object> parameters) {
+		return delegate.stream(method, path, request, parameters);
+	}
+}
@@ -0,0 +1,221 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Кэш успешных ответов server на GET-запросы к вещам и запросам вещей. Ключ — область (префикс API),
+ * путь с параметрами и X-Sharer-User-Id. Размер и время жизни задаются shareit-server.cache.spec.
+ * <p>
+ * Каждая запись помечена тегами: область, ресурс (/items/5) или коллекция области (списки и поиск)
+ * и пользователь. Успешный изменяющий запрос через gateway сбрасывает только записи с затронутыми тегами,
+ * находя их по индексу тегов, без обхода всего кэша: правка вещи 5 сбрасывает /items/5 и списки вещей,
+ * а подтверждение бронирования — ответы /items владельцу. Неуспешные запросы ничего не сбрасывают.
+ * Изменения, сделанные в обход этого экземпляра gateway, видны после истечения срока жизни записи.
+ */
+@Slf4j
+@Component
+public class GatewayResponseCache {
+	private static final String ITEMS = "/items";
+	private static final String REQUESTS = "/requests";
+	private static final String BOOKINGS = "/bookings";
+	private static final String USERS = "/users";
+	private static final Set<String> CACHED_REGIONS = Set.of(ITEMS, REQUESTS);
+	// Занятость вещи зависит от любых бронирований, в том числе ожидающих, поэтому не кэшируется
+	private static final Pattern UNCACHED_PATH = Pattern.compile("^/\\d+/availability\\b");
+	private static final Pattern RESOURCE_ID = Pattern.compile("^/(\\d+)(/[^?]*)?(\\?.*)?$");
+	private static final int GENERATION_STRIPES = 64;
+
+	private final boolean enabled;
+	private final Cache<Key, ResponseEntity<Object>> responses;
+	private final Map<String, Set<Key>> keysByTag = new ConcurrentHashMap<>();
+	// Поколение тега растёт при каждом сбросе записей с ним; ответ, запрошенный до сброса, в кэше не остаётся.
+	// Теги делят ограниченный набор счётчиков: совпадение счётчика лишь изредка отбрасывает лишний ответ
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+	public GatewayResponseCache(@Value("${shareit-server.cache.enabled:false}") boolean enabled,
+	                            @Value("${shareit-server.cache.spec:maximumSize=10000,expireAfterWrite=5s}") String spec,
+	                            MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.responses = Caffeine.from(CaffeineSpec.parse(spec))
+				// Вытесненные по размеру и сроку записи убираются и из индекса тегов
+				.<Key, ResponseEntity<Object>>evictionListener((key, response, cause) -> unindex(key))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway-responses");
+	}
+
+	// Транспорт клиента с данным префиксом API: GET кэшируются, изменяющие запросы сбрасывают зависимые записи
+	public ServerTransport wrap(String region, ServerTransport transport) {
+		if (!enabled) {
+			return transport;
+		}
+
+		return new CachingServerTransport(region, transport, this);
+	}
+
+	boolean isCached(String region, String path) {
+		return CACHED_REGIONS.contains(region) && !UNCACHED_PATH.matcher(path).find();
+	}
+
+	@Nullable
+	ResponseEntity<Object> get(Key key) {
+		return responses.getIfPresent(key);
+	}
+
+	// Снимок поколений тегов ключа берётся до запроса к server и сверяется в put
+	long[] generation(Key key) {
+		List<String> tags = key.tags();
+		long[] snapshot = new long[tags.size()];
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = generations.get(stripe(tags.get(i)));
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Запись попадает в кэш вместе с индексом тегов, затем поколения сверяются со снимком. Сброс увеличивает
+	 * поколение до обхода индекса: либо он найдёт запись в индексе, либо put увидит новое поколение и уберёт её сам.
+	 */
+	void put(Key key, long[] snapshot, ResponseEntity<Object> response) {
+		responses.asMap().compute(key, (k, previous) -> {
+			index(k);
+			return response;
+		});
+
+		if (!Arrays.equals(snapshot, generation(key))) {
+			discard(key);
+		}
+	}
+
+	void evictAffectedBy(String region, HttpMethod method, String path, @Nullable String userId) {
+		List<String> affected = affectedTags(region, method, path, userId);
+		for (String tag : affected) {
+			generations.incrementAndGet(stripe(tag));
+		}
+		for (String tag : affected) {
+			Set<Key> keys = keysByTag.remove(tag);
+			if (keys != null) {
+				keys.forEach(this::discard);
+			}
+		}
+		log.debug("Сброшены кэшированные ответы с тегами {} после {} {}{}", affected, method, region, path);
+	}
+
+	// Какие записи может изменить успешный запрос: теги записей, которые нужно сбросить
+	private static List<String> affectedTags(String region, HttpMethod method, String path, @Nullable String userId) {
+		String id = resourceId(path);
+		List<String> tags = new ArrayList<>();
+		switch (region) {
+			case ITEMS -> {
+				tags.add(Key.collectionTag(ITEMS));
+				if (id != null) {
+					tags.add(Key.resourceTag(ITEMS, id));
+				}
+				// Новая, изменённая или удалённая вещь может быть ответом на запрос; отзыв на ответы не влияет
+				if (!path.matches("^/\\d+/comment.*")) {
+					tags.add(REQUESTS);
+				}
+			}
+			case REQUESTS -> {
+				tags.add(Key.collectionTag(REQUESTS));
+				if (id != null) {
+					tags.add(Key.resourceTag(REQUESTS, id));
+				}
+			}
+			case BOOKINGS -> {
+				// Даты бронирований видит только владелец вещи, и только подтверждённые: новое бронирование
+				// ожидает решения, а подтверждает его сам владелец. Владелец изменённого или удалённого
+				// бронирования gateway неизвестен
+				if (method == HttpMethod.PATCH && userId != null) {
+					tags.add(Key.userTag(ITEMS, userId));
+				} else if (method != HttpMethod.POST) {
+					tags.add(ITEMS);
+				}
+			}
+			case USERS -> {
+				// Новый пользователь ещё ни в одном ответе; имя автора входит в отзывы,
+				// а удаление пользователя удаляет его вещи и запросы
+				if (method != HttpMethod.POST) {
+					tags.add(ITEMS);
+					tags.add(REQUESTS);
+				}
+			}
+			default -> tags.addAll(CACHED_REGIONS);
+		}
+		return tags;
+	}
+
+	@Nullable
+	private static String resourceId(String path) {
+		Matcher matcher = RESOURCE_ID.matcher(path);
+		return matcher.matches() ? matcher.group(1) : null;
+	}
+
+	// Запись и её теги меняются одной атомарной операцией над ключом кэша, поэтому индекс не расходится с кэшем
+	private void discard(Key key) {
+		responses.asMap().computeIfPresent(key, (k, response) -> {
+			unindex(k);
+			return null;
+		});
+	}
+
+	private void index(Key key) {
+		key.tags().forEach(tag -> keysByTag.computeIfAbsent(tag, t -> ConcurrentHashMap.newKeySet()).add(key));
+	}
+
+	private void unindex(Key key) {
+		for (String tag : key.tags()) {
+			keysByTag.computeIfPresent(tag, (t, keys) -> {
+				keys.remove(key);
+				return keys.isEmpty() ? null : keys;
+			});
+		}
+	}
+
+	private static int stripe(String tag) {
+		return Math.floorMod(tag.hashCode(), GENERATION_STRIPES);
+	}
+
+	record Key(String region, String path, Map<String, Object> parameters, @Nullable String userId) {
+
+		// Область, ресурс или коллекция области и пользователь
+		List<String> tags() {
+			String id = resourceId(path);
+			return List.of(region,
+					id != null ? resourceTag(region, id) : collectionTag(region),
+					userTag(region, userId != null ? userId : ""));
+		}
+
+		static String resourceTag(String region, String id) {
+			return region + "/" + id;
+		}
+
+		static String collectionTag(String region) {
+			return region + "/*";
+		}
+
+		static String userTag(String region, String userId) {
+			return region + "@" + userId;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Тело ответа server из WebClient. На буферы подписываются ровно один раз: либо записью клиенту, либо
+ * освобождением в конце обработки запроса, если до записи дело не дошло (исключение в контроллере,
+ * ответ без тела). Иначе буферы и соединение reactor-netty не вернулись бы в пул.
+ */
+class RelayedResponseBody implements StreamingResponseBody {
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	private final Flux<? extends DataBuffer> buffers;
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	RelayedResponseBody(Flux<? extends DataBuffer> buffers) {
+		this.buffers = buffers;
+		// Тело пишет StreamingRelayConfig в том же потоке запроса, поэтому к концу запроса оно уже прочитано
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			attributes.registerDestructionCallback(RelayedResponseBody.class.getName() + SEQUENCE.incrementAndGet(),
+					this::discard, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	// Каждый буфер освобождается сразу после записи, в том числе если запись оборвалась
+	@Override
+	public void writeTo(OutputStream out) throws IOException {
+		if (!subscribed.compareAndSet(false, true)) {
+			throw new IllegalStateException("Тело ответа server уже прочитано");
+		}
+
+		try {
+			buffers.doOnNext(buffer -> {
+				try (InputStream in = buffer.asInputStream(true)) {
+					in.transferTo(out);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}).blockLast();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	void discard() {
+		if (subscribed.compareAndSet(false, true)) {
+			buffers.map(DataBufferUtils::release).onErrorComplete().subscribe();
+		}
+	}
+}
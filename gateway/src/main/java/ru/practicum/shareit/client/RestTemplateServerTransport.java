@@ -0,0 +1,151 @@
+package ru.practicum.shareit.client;
+
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Синхронный транспорт на RestTemplate. По умолчанию тело ответа разбирается в дерево объектов
+ * и сериализуется заново; в режиме passThrough оно читается массивом байт и отдаётся клиенту
+ * вместе с Content-Type server без разбора.
+ */
+public class RestTemplateServerTransport implements ServerTransport {
+	private final RestTemplate rest;
+	private final boolean passThrough;
+
+	public RestTemplateServerTransport(RestTemplate rest) {
+		this(rest, false);
+	}
+
+	public RestTemplateServerTransport(RestTemplate rest, boolean passThrough) {
+		this.rest = rest;
+		this.passThrough = passThrough;
+	}
+
+	@Override
+	public ResponseEntity<Object> exchange(HttpMethod method,
+	                                       String path,
+	                                       HttpEntity<?> request,
+	                                       @Nullable Map<String, Object> parameters) {
+		if (passThrough) {
+			return relay(send(method, path, request, parameters, byte[].class));
+		}
+
+		return send(method, path, request, parameters, Object.class);
+	}
+
+	// Запрос уходит через фабрику запросов RestTemplate напрямую: exchange закрыл бы ответ, не дожидаясь записи тела
+	@Override
+	public ResponseEntity<Object> stream(HttpMethod method,
+	                                     String path,
+	                                     HttpEntity<?> request,
+	                                     @Nullable Map<String, Object> parameters) {
+		URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+		ClientHttpResponse serverResponse;
+		try {
+			ClientHttpRequest serverRequest = rest.getRequestFactory().createRequest(uri, method);
+			serverRequest.getHeaders().addAll(request.getHeaders());
+			serverResponse = serverRequest.execute();
+		} catch (IOException e) {
+			throw new ResourceAccessException("Ошибка ввода-вывода при запросе " + method + " " + uri, e);
+		}
+
+		try {
+			ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(serverResponse.getStatusCode());
+			if (serverResponse.getHeaders().getContentType() != null) {
+				responseBuilder.contentType(serverResponse.getHeaders().getContentType());
+			}
+			if (serverResponse.getHeaders().getETag() != null) {
+				responseBuilder.eTag(serverResponse.getHeaders().getETag());
+			}
+
+			if (serverResponse.getHeaders().getContentLength() == 0
+					|| serverResponse.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+				serverResponse.close();
+				return responseBuilder.build();
+			}
+
+			StreamingResponseBody body = out -> {
+				try (serverResponse) {
+					serverResponse.getBody().transferTo(out);
+				}
+			};
+			return responseBuilder.body(body);
+		} catch (IOException e) {
+			serverResponse.close();
+			throw new ResourceAccessException("Ошибка ввода-вывода при чтении ответа на " + method + " " + uri, e);
+		}
+	}
+
+	private <B> ResponseEntity<Object> send(HttpMethod method,
+	                                        String path,
+	                                        HttpEntity<?> request,
+	                                        @Nullable Map<String, Object> parameters,
+	                                        Class<B> bodyType) {
+		ResponseEntity<B> shareitServerResponse;
+		try {
+			if (parameters != null) {
+				shareitServerResponse = rest.exchange(path, method, request, bodyType, parameters);
+			} else {
+				shareitServerResponse = rest.exchange(path, method, request, bodyType);
+			}
+		} catch (HttpStatusCodeException e) {
+			ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode());
+			if (passThrough && e.getResponseHeaders() != null && e.getResponseHeaders().getContentType() != null) {
+				responseBuilder.contentType(e.getResponseHeaders().getContentType());
+			}
+			return responseBuilder.body(e.getResponseBodyAsByteArray());
+		}
+		return prepareGatewayResponse(shareitServerResponse);
+	}
+
+	// Из заголовков server переносятся только тип содержимого и ETag: длину и кодирование передачи выставит gateway
+	private static ResponseEntity<Object> relay(ResponseEntity<Object> response) {
+		if (!response.getStatusCode().is2xxSuccessful() || response.getHeaders().getContentType() == null) {
+			return response;
+		}
+
+		ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+				.contentType(response.getHeaders().getContentType());
+		if (response.getHeaders().getETag() != null) {
+			responseBuilder.eTag(response.getHeaders().getETag());
+		}
+
+		if (response.hasBody()) {
+			return responseBuilder.body(response.getBody());
+		}
+
+		return responseBuilder.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
+		if (response.getStatusCode().is2xxSuccessful()) {
+			return (ResponseEntity<Object>) response;
+		}
+
+		ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+		// 304 Not Modified на условный GET несёт ETag актуальной версии
+		if (response.getHeaders().getETag() != null) {
+			responseBuilder.eTag(response.getHeaders().getETag());
+		}
+
+		if (response.hasBody()) {
+			return responseBuilder.body(response.getBody());
+		}
+
+		return responseBuilder.build();
+	}
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+// Пул HttpClient5 нужен только транспорту rest-template; у streaming-relay свой пул reactor-netty
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "rest-template", matchIfMissing = true)
+public class ServerHttpClientConfig {
+
+	@Bean
+	public PoolingHttpClientConnectionManager serverConnectionManager(ServerHttpClientProperties properties) {
+		return PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(properties.getMaxTotal())
+				.setMaxConnPerRoute(properties.getMaxPerRoute())
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+						.setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+						.setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+						.build())
+				.build();
+	}
+
+	/**
+	 * Один клиент на все *Client gateway: соединения с server переиспользуются между запросами
+	 * и не упираются в лимиты отдельных пулов. Простаивающие соединения закрываются фоновым потоком.
+	 */
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+	                                            ServerHttpClientProperties properties) {
+		return HttpClients.custom()
+				.setConnectionManager(serverConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.of(properties.getPoolTimeout()))
+						.setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+						.build())
+				.setKeepAliveStrategy(keepAliveStrategy(TimeValue.of(properties.getKeepAlive())))
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+				.build();
+	}
+
+	@Bean
+	public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+		return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+	}
+
+	// Метрики пула: httpcomponents.httpclient.pool.total.{max,connections,pending} с тегом httpclient=shareit-server
+	@Bean
+	public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, "shareit-server");
+	}
+
+	// Срок из заголовка Keep-Alive ответа, но не дольше настроенного; бессрочные соединения не держим
+	private static ConnectionKeepAliveStrategy keepAliveStrategy(TimeValue maxKeepAlive) {
+		DefaultConnectionKeepAliveStrategy serverHint = DefaultConnectionKeepAliveStrategy.INSTANCE;
+
+		return (response, context) -> {
+			TimeValue hinted = serverHint.getKeepAliveDuration(response, context);
+			if (!TimeValue.isNonNegative(hinted) || hinted.compareTo(maxKeepAlive) > 0) {
+				return maxKeepAlive;
+			}
+
+			return hinted;
+		};
+	}
+}
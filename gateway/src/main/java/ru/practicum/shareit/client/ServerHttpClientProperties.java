@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений gateway -> server (свойства shareit-server.http.*).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerHttpClientProperties {
+	// Весь трафик идёт на один маршрут (server), поэтому оба лимита по умолчанию совпадают
+	private int maxTotal = 200;
+	private int maxPerRoute = 200;
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	private Duration readTimeout = Duration.ofSeconds(30);
+	// Ожидание свободного соединения из пула
+	private Duration poolTimeout = Duration.ofSeconds(5);
+	private Duration keepAlive = Duration.ofSeconds(30);
+	private Duration idleEviction = Duration.ofSeconds(30);
+	// Соединение, простоявшее дольше, перед выдачей из пула проверяется на разрыв сервером
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
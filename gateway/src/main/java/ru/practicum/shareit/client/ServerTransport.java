@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+/**
+ * Способ доставки запроса от gateway до server. Ответ server, в том числе с ошибочным статусом,
+ * возвращается вызывающему как есть.
+ */
+public interface ServerTransport {
+	ResponseEntity<Object> exchange(HttpMethod method,
+	                                String path,
+	                                HttpEntity<?> request,
+	                                @Nullable Map<String, Object> parameters);
+
+	/**
+	 * Запрос без тела, ответ на который передаётся клиенту по мере чтения от server: тело не собирается
+	 * в памяти gateway. Телом ответа служит {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody},
+	 * его пишет {@link StreamingRelayConfig}.
+	 */
+	ResponseEntity<Object> stream(HttpMethod method,
+	                              String path,
+	                              HttpEntity<?> request,
+	                              @Nullable Map<String, Object> parameters);
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class ServerTransportConfig {
+
+	/**
+	 * При shareit-server.pass-through=true успешные и ошибочные ответы server передаются клиенту байтами,
+	 * без разбора JSON в Map/List и повторной сериализации в Spring MVC.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "rest-template", matchIfMissing = true)
+	public ServerTransportFactory restTemplateTransportFactory(RestTemplateBuilder builder,
+	                                                           ClientHttpRequestFactory serverRequestFactory,
+	                                                           @Value("${shareit-server.pass-through:false}")
+	                                                           boolean passThrough) {
+		return rootUri -> new RestTemplateServerTransport(builder
+				.uriTemplateHandler(new DefaultUriBuilderFactory(rootUri))
+				.requestFactory(() -> serverRequestFactory)
+				.build(), passThrough);
+	}
+
+	/**
+	 * Пул соединений reactor-netty настраивается теми же свойствами shareit-server.http.*, что и пул HttpClient5.
+	 * Метрики пула публикуются как reactor.netty.connection.provider.* с именем shareit-server.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "streaming-relay")
+	public ServerTransportFactory webClientTransportFactory(WebClient.Builder builder,
+	                                                        ServerHttpClientProperties properties) {
+		ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+				.maxConnections(properties.getMaxPerRoute())
+				.pendingAcquireTimeout(properties.getPoolTimeout())
+				.maxIdleTime(properties.getKeepAlive())
+				.evictInBackground(properties.getIdleEviction())
+				.metrics(true)
+				.build();
+		HttpClient httpClient = HttpClient.create(connectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+				.responseTimeout(properties.getReadTimeout());
+		WebClient.Builder serverBuilder = builder.clone()
+				.clientConnector(new ReactorClientHttpConnector(httpClient));
+
+		return rootUri -> new WebClientServerTransport(serverBuilder.clone().baseUrl(rootUri).build());
+	}
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Создаёт транспорт для клиента с заданным корневым адресом, например http://server:9090/items.
+ */
+@FunctionalInterface
+public interface ServerTransportFactory {
+	ServerTransport create(String rootUri);
+}
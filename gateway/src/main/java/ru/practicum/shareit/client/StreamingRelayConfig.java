@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import jakarta.annotation.Nullable;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Контроллеры gateway возвращают ResponseEntity&lt;Object&gt;, поэтому StreamingResponseBody в теле ответа
+ * транспорта Spring MVC распознаёт только по классу значения. Этот конвертер пишет такое тело прямо
+ * в выходной поток ответа с Content-Type, выставленным транспортом.
+ */
+@Configuration
+public class StreamingRelayConfig implements WebMvcConfigurer {
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.addFirst(new StreamingBodyConverter());
+	}
+
+	/**
+	 * Конвертер только для записи: canRead всегда false, поэтому Spring MVC не выбирает его для тела запроса.
+	 * Content-Type берётся из ответа транспорта, а без него — из согласованного типа, если тот конкретный.
+	 */
+	static class StreamingBodyConverter extends AbstractHttpMessageConverter<StreamingResponseBody> {
+
+		StreamingBodyConverter() {
+			super(MediaType.ALL);
+		}
+
+		@Override
+		protected boolean supports(Class<?> clazz) {
+			return StreamingResponseBody.class.isAssignableFrom(clazz);
+		}
+
+		@Override
+		public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+			return false;
+		}
+
+		@Override
+		protected StreamingResponseBody readInternal(Class<? extends StreamingResponseBody> clazz,
+		                                             HttpInputMessage inputMessage) {
+			throw new HttpMessageNotReadableException("Тело запроса не читается как поток ответа", inputMessage);
+		}
+
+		// Тип по умолчанию MediaType.ALL нельзя выставить в Content-Type
+		@Override
+		@Nullable
+		protected MediaType getDefaultContentType(StreamingResponseBody body) {
+			return null;
+		}
+
+		@Override
+		protected void writeInternal(StreamingResponseBody body, HttpOutputMessage outputMessage) throws IOException {
+			body.writeTo(outputMessage.getBody());
+		}
+	}
+}
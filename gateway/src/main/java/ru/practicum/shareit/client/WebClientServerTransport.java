@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import jakarta.annotation.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Потоковая передача ответа на WebClient (shareit-server.transport=streaming-relay): тело ответа server
+ * передаётся клиенту буферами по мере прихода вместе с Content-Type, без разбора в дерево объектов
+ * и без сборки в памяти.
+ * <p>
+ * Обработка не становится неблокирующей: контроллеры gateway остаются на Spring MVC, поэтому поток запроса
+ * ждёт статус и заголовки ответа server, а затем сам пишет буферы тела в выходной поток клиента.
+ */
+public class WebClientServerTransport implements ServerTransport {
+	private final WebClient webClient;
+
+	public WebClientServerTransport(WebClient webClient) {
+		this.webClient = webClient;
+	}
+
+	@Override
+	public ResponseEntity<Object> exchange(HttpMethod method,
+	                                       String path,
+	                                       HttpEntity<?> request,
+	                                       @Nullable Map<String, Object> parameters) {
+		WebClient.RequestBodySpec spec = prepare(method, path, request, parameters);
+		if (request.getBody() != null) {
+			spec.bodyValue(request.getBody());
+		}
+
+		return relay(spec);
+	}
+
+	@Override
+	public ResponseEntity<Object> stream(HttpMethod method,
+	                                     String path,
+	                                     HttpEntity<?> request,
+	                                     @Nullable Map<String, Object> parameters) {
+		return relay(prepare(method, path, request, parameters));
+	}
+
+	private WebClient.RequestBodySpec prepare(HttpMethod method,
+	                                          String path,
+	                                          HttpEntity<?> request,
+	                                          @Nullable Map<String, Object> parameters) {
+		return webClient.method(method)
+				.uri(path, parameters != null ? parameters : Map.of())
+				.headers(headers -> headers.addAll(request.getHeaders()));
+	}
+
+	// Из заголовков server переносятся только тип содержимого и ETag: длину и кодирование передачи выставит gateway
+	private static ResponseEntity<Object> relay(WebClient.RequestHeadersSpec<?> spec) {
+		ResponseEntity<Flux<DataBuffer>> response = spec.retrieve()
+				// Ошибочный статус server передаётся клиенту как есть, а не превращается в исключение
+				.onStatus(HttpStatusCode::isError, serverResponse -> Mono.empty())
+				.toEntityFlux(DataBuffer.class)
+				.block();
+
+		ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+		if (response.getHeaders().getContentType() != null) {
+			responseBuilder.contentType(response.getHeaders().getContentType());
+		}
+		if (response.getHeaders().getETag() != null) {
+			responseBuilder.eTag(response.getHeaders().getETag());
+		}
+
+		Flux<DataBuffer> body = response.getBody();
+		if (body == null) {
+			return responseBuilder.build();
+		}
+
+		if (response.getHeaders().getContentLength() == 0
+				|| response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+			body.map(DataBufferUtils::release).blockLast();
+			return responseBuilder.build();
+		}
+
+		return responseBuilder.body(new RelayedResponseBody(body));
+	}
+}
@@ -3,16 +3,18 @@ package ru.practicum.shareit.item;
 import jakarta.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CreateCommentRequest;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,17 +23,19 @@ public class ItemClient extends BaseClient {
 	private static final String API_PREFIX = "/items";
 
 	@Autowired
-	public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-		super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-				.build()
-		);
+	public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+	                  GatewayResponseCache responseCache) {
+		super(responseCache.wrap(API_PREFIX, transportFactory.create(serverUrl + API_PREFIX)));
 	}
 
 	public ResponseEntity<Object> create(Long userId, CreateItemRequest request) {
 		return post("", userId, request);
 	}
 
+	public ResponseEntity<Object> importItems(Long userId, MediaType contentType, InputStream body) {
+		return postStream("/import", userId, contentType, body);
+	}
+
 	public ResponseEntity<Object> update(Long itemId, Long userId, UpdateItemRequest request) {
 		return patch("/" + itemId, userId, null, request);
 	}
@@ -60,6 +64,29 @@ public class ItemClient extends BaseClient {
 		return get(path, userId, parameters);
 	}
 
+	public ResponseEntity<Object> streamItems(Long userId) {
+		return getStream("", userId, null, MediaType.APPLICATION_NDJSON);
+	}
+
+	public ResponseEntity<Object> searchItems(String pathPart, Long userId, String text, Integer from, Integer size) {
+		Map<String, Object> parameters = Map.of(
+				"text", text,
+				"from", from,
+				"size", size
+		);
+
+		return get(pathPart + "?text={text}&from={from}&size={size}", userId, parameters);
+	}
+
+	public ResponseEntity<Object> findBusyIntervals(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+		Map<String, Object> parameters = Map.of(
+				"from", from,
+				"to", to
+		);
+
+		return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+	}
+
 	public ResponseEntity<Object> addComment(String pathPart, Long userId, CreateCommentRequest request) {
 		return post(pathPart, userId, request);
 	}
@@ -2,17 +2,25 @@ package ru.practicum.shareit.item;
 
 import io.micrometer.common.util.StringUtils;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.item.dto.CreateCommentRequest;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 @Controller
@@ -26,6 +34,9 @@ public class ItemController {
 	private final String search = "/search";
 	private final String comment = "/comment";
 	private final String itemComment = id + comment;
+	private final String itemAvailability = id + "/availability";
+	private final String itemImport = "/import";
+	private final String textCsv = "text/csv";
 
 	private final String headerUserId = "X-Sharer-User-Id";
 	private final String pvItemId = "item-id";
@@ -38,6 +49,14 @@ public class ItemController {
 		return itemClient.create(ownerId, request);
 	}
 
+	@PostMapping(value = itemImport, consumes = {MediaType.APPLICATION_NDJSON_VALUE, textCsv})
+	public ResponseEntity<Object> importItems(@RequestHeader(headerUserId) Long ownerId,
+	                                          @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+	                                          InputStream body) {
+		log.info("Импорт вещей ({}) от пользователя с id = {}", contentType, ownerId);
+		return itemClient.importItems(ownerId, contentType, body);
+	}
+
 	@PatchMapping(id)
 	public ResponseEntity<Object> updateItem(@PathVariable(pvItemId) Long itemId,
 	                                         @Valid @RequestBody UpdateItemRequest request,
@@ -63,12 +82,16 @@ public class ItemController {
 
 	@GetMapping(search)
 	public ResponseEntity<Object> findItemsForBooker(@RequestHeader(headerUserId) Long ownerId,
-	                                                 @RequestParam(name = "text", defaultValue = "") String text) {
+	                                                 @RequestParam(name = "text", defaultValue = "") String text,
+	                                                 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+	                                                 Integer from,
+	                                                 @Positive @RequestParam(name = "size", defaultValue = "10")
+	                                                 Integer size) {
 		if (StringUtils.isBlank(text)) {
 			return ResponseEntity.ok(Collections.emptyList());
 		}
-		log.info("Поиск вещи по тексту: {} от пользователя  с id = {}", text, ownerId);
-		return itemClient.findItems(search, ownerId, text);
+		log.info("Поиск вещи по тексту: {} от пользователя  с id = {}, from = {}, size = {}", text, ownerId, from, size);
+		return itemClient.searchItems(search, ownerId, text, from, size);
 	}
 
 	@GetMapping
@@ -77,6 +100,30 @@ public class ItemController {
 		return itemClient.findItems(null, ownerId, null);
 	}
 
+	// NDJSON-выгрузка вещей владельца: server пишет её построчно, gateway передаёт строки не накапливая
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<Object> streamAll(@RequestHeader(headerUserId) Long ownerId) {
+		log.info("Потоковая выдача вещей пользователя с id = {}", ownerId);
+		return itemClient.streamItems(ownerId);
+	}
+
+	@GetMapping(itemAvailability)
+	public ResponseEntity<Object> findBusyIntervals(@RequestHeader(headerUserId) Long userId,
+	                                                @PathVariable(pvItemId) Long itemId,
+	                                                @RequestParam(name = "from")
+	                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	                                                LocalDateTime from,
+	                                                @RequestParam(name = "to")
+	                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	                                                LocalDateTime to) {
+		if (!to.isAfter(from)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Начало периода должно быть раньше его окончания");
+		}
+		log.info("Занятость вещи с id = {} с {} по {} от пользователя с id = {}", itemId, from, to, userId);
+		return itemClient.findBusyIntervals(userId, itemId, from, to);
+	}
+
 	@PostMapping(itemComment)
 	@ResponseStatus(HttpStatus.CREATED)
 	public ResponseEntity<Object> addComment(@PathVariable(pvItemId) Long itemId,
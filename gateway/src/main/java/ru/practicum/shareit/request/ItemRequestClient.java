@@ -3,25 +3,25 @@ package ru.practicum.shareit.request;
 import jakarta.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.CreateRequest;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
 	private static final String API_PREFIX = "/requests";
 
 	@Autowired
-	public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-		super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-				.build()
-		);
+	public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+	                         GatewayResponseCache responseCache) {
+		super(responseCache.wrap(API_PREFIX, transportFactory.create(serverUrl + API_PREFIX)));
 	}
 
 	public ResponseEntity<Object> create(Long userId, CreateRequest request) {
@@ -48,4 +48,18 @@ public class ItemRequestClient extends BaseClient {
 
 		return get(path, userId);
 	}
+
+	public ResponseEntity<Object> findOtherItemRequests(Long userId, Integer from, Integer size, @Nullable Long after) {
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("from", from);
+		parameters.put("size", size);
+
+		String path = "/all?from={from}&size={size}";
+		if (after != null) {
+			parameters.put("after", after);
+			path = path + "&after={after}";
+		}
+
+		return get(path, userId, parameters);
+	}
 }
\ No newline at end of file
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.CreateRequest;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 
 @Slf4j
 @RestController
+@Validated
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
@@ -55,8 +59,14 @@ public class ItemRequestController {
 	}
 
 	@GetMapping(all)
-	public ResponseEntity<Object> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId) {
-		log.info("Поиск запросов на вещей от других пользователей с id = {}", requestorId);
-		return itemRequestClient.findItemRequests(all, requestorId);
+	public ResponseEntity<Object> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId,
+	                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
+	                                                         Integer from,
+	                                                         @Positive @RequestParam(name = "size", defaultValue = "10")
+	                                                         Integer size,
+	                                                         @RequestParam(name = "after", required = false) Long after) {
+		log.info("Поиск запросов на вещей от других пользователей с id = {}, from = {}, size = {}, after = {}",
+				requestorId, from, size, after);
+		return itemRequestClient.findOtherItemRequests(requestorId, from, size, after);
 	}
 }
\ No newline at end of file
@@ -2,12 +2,11 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 
@@ -16,11 +15,9 @@ public class UserClient extends BaseClient {
 	private static final String API_PREFIX = "/users";
 
 	@Autowired
-	public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-		super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-				.build()
-		);
+	public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+	                  GatewayResponseCache responseCache) {
+		super(responseCache.wrap(API_PREFIX, transportFactory.create(serverUrl + API_PREFIX)));
 	}
 
 	public ResponseEntity<Object> create(CreateUserRequest request) {
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class GatewayResponseCacheTest {
+	private GatewayResponseCache cache;
+	private RecordingTransport itemsServer;
+	private ServerTransport items;
+
+	@BeforeEach
+	void setUp() {
+		cache = new GatewayResponseCache(true, "maximumSize=100,expireAfterWrite=1m", new SimpleMeterRegistry());
+		itemsServer = new RecordingTransport();
+		items = cache.wrap("/items", itemsServer);
+	}
+
+	@Test
+	void should_cache_get_responses_per_user() {
+		get(items, "/1", 1L);
+		get(items, "/1", 1L);
+		get(items, "/1", 2L);
+
+		assertThat(itemsServer.calls, contains("GET /1 user 1", "GET /1 user 2"));
+	}
+
+	@Test
+	void should_evict_only_changed_item_and_item_lists() {
+		get(items, "/1", 1L);
+		get(items, "/2", 1L);
+		get(items, "", 1L);
+		itemsServer.calls.clear();
+
+		send(items, HttpMethod.PATCH, "/1", 1L);
+		get(items, "/1", 1L);
+		get(items, "/2", 1L);
+		get(items, "", 1L);
+
+		assertThat(itemsServer.calls, contains("PATCH /1 user 1", "GET /1 user 1", "GET  user 1"));
+	}
+
+	@Test
+	void should_not_evict_after_rejected_write() {
+		get(items, "/1", 1L);
+		itemsServer.status = HttpStatus.FORBIDDEN;
+		send(items, HttpMethod.PATCH, "/1", 2L);
+		itemsServer.status = HttpStatus.OK;
+		itemsServer.calls.clear();
+
+		get(items, "/1", 1L);
+
+		assertThat(itemsServer.calls, empty());
+	}
+
+	@Test
+	void should_evict_owner_items_after_booking_approval() {
+		ServerTransport bookings = cache.wrap("/bookings", new RecordingTransport());
+		get(items, "/1", 1L);
+		get(items, "/1", 2L);
+		itemsServer.calls.clear();
+
+		send(bookings, HttpMethod.PATCH, "/7?approved={approved}", 1L);
+		get(items, "/1", 1L);
+		get(items, "/1", 2L);
+
+		assertThat(itemsServer.calls, contains("GET /1 user 1"));
+	}
+
+	@Test
+	void should_not_keep_response_read_before_concurrent_eviction() {
+		// Изменение проходит, пока GET ждёт ответа server: прочитанный до него ответ устарел
+		itemsServer.onGet = path -> send(items, HttpMethod.PATCH, "/1", 1L);
+		get(items, "/1", 1L);
+		itemsServer.onGet = path -> {
+		};
+		itemsServer.calls.clear();
+
+		get(items, "/1", 1L);
+
+		assertThat(itemsServer.calls, contains("GET /1 user 1"));
+	}
+
+	@Test
+	void should_not_cache_item_availability() {
+		get(items, "/1/availability?from={from}&to={to}", 1L);
+		get(items, "/1/availability?from={from}&to={to}", 1L);
+
+		assertThat(itemsServer.calls.size(), equalTo(2));
+	}
+
+	private static ResponseEntity<Object> get(ServerTransport transport, String path, Long userId) {
+		return send(transport, HttpMethod.GET, path, userId);
+	}
+
+	private static ResponseEntity<Object> send(ServerTransport transport, HttpMethod method, String path, Long userId) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Sharer-User-Id", String.valueOf(userId));
+		return transport.exchange(method, path, new HttpEntity<>(headers), Map.of());
+	}
+
+	private static class RecordingTransport implements ServerTransport {
+		private final List<String> calls = new ArrayList<>();
+		private HttpStatus status = HttpStatus.OK;
+		private Consumer<String> onGet = path -> {
+		};
+
+		@Override
+		public ResponseEntity<Object> exchange(HttpMethod method,
+		                                       String path,
+		                                       HttpEntity<?> request,
+		                                       @Nullable Map<String, Object> parameters) {
+			calls.add(method + " " + path + " user " + request.getHeaders().getFirst("X-Sharer-User-Id"));
+			if (method == HttpMethod.GET) {
+				onGet.accept(path);
+			}
+			return ResponseEntity.status(status).body(path);
+		}
+
+		@Override
+		public ResponseEntity<Object> stream(HttpMethod method,
+		                                     String path,
+		                                     HttpEntity<?> request,
+		                                     @Nullable Map<String, Object> parameters) {
+			return exchange(method, path, request, parameters);
+		}
+	}
+}
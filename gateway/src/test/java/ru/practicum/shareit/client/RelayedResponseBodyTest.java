@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RelayedResponseBodyTest {
+	private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+	private final AtomicInteger subscriptions = new AtomicInteger();
+
+	private ServletRequestAttributes request;
+
+	@BeforeEach
+	void setUp() {
+		request = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(request);
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void should_write_and_release_buffers_once() throws IOException {
+		List<NettyDataBuffer> buffers = buffers("{\"id\":", "1}");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		new RelayedResponseBody(relay(buffers)).writeTo(out);
+		request.requestCompleted();
+
+		assertThat(out.toString(StandardCharsets.UTF_8), equalTo("{\"id\":1}"));
+		assertThat(refCounts(buffers), equalTo(List.of(0, 0)));
+		assertThat(subscriptions.get(), equalTo(1));
+	}
+
+	@Test
+	void should_release_buffer_when_client_write_fails() {
+		List<NettyDataBuffer> buffers = buffers("a", "b");
+		OutputStream closedByClient = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Клиент закрыл соединение");
+			}
+		};
+
+		assertThrows(IOException.class, () -> new RelayedResponseBody(relay(buffers)).writeTo(closedByClient));
+
+		assertThat(buffers.getFirst().getNativeBuffer().refCnt(), equalTo(0));
+	}
+
+	@Test
+	void should_release_unwritten_buffers_at_request_end() {
+		List<NettyDataBuffer> buffers = buffers("a", "b");
+
+		new RelayedResponseBody(relay(buffers));
+		request.requestCompleted();
+
+		assertThat(refCounts(buffers), equalTo(List.of(0, 0)));
+	}
+
+	private Flux<NettyDataBuffer> relay(List<NettyDataBuffer> buffers) {
+		return Flux.fromIterable(buffers).doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+	}
+
+	private List<NettyDataBuffer> buffers(String... parts) {
+		return Arrays.stream(parts)
+				.map(part -> (NettyDataBuffer) bufferFactory.wrap(part.getBytes(StandardCharsets.UTF_8)))
+				.toList();
+	}
+
+	private static List<Integer> refCounts(List<NettyDataBuffer> buffers) {
+		return buffers.stream().map(buffer -> buffer.getNativeBuffer().refCnt()).toList();
+	}
+}
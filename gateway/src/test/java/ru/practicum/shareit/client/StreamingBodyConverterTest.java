@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class StreamingBodyConverterTest {
+	private final StreamingRelayConfig.StreamingBodyConverter converter = new StreamingRelayConfig.StreamingBodyConverter();
+
+	private final StreamingResponseBody body = out -> out.write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+	@Test
+	void should_write_streaming_body_only() {
+		assertThat(converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON), equalTo(true));
+		assertThat(converter.canRead(StreamingResponseBody.class, MediaType.APPLICATION_JSON), equalTo(false));
+		assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON), equalTo(false));
+	}
+
+	@Test
+	void should_keep_content_type_of_server_response() throws IOException {
+		MockHttpOutputMessage message = new MockHttpOutputMessage();
+		message.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+
+		converter.write(body, MediaType.APPLICATION_JSON, message);
+
+		assertThat(message.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+		assertThat(message.getBodyAsString(StandardCharsets.UTF_8), equalTo("{\"id\":1}"));
+	}
+
+	@Test
+	void should_leave_content_type_empty_for_wildcard() throws IOException {
+		MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+		converter.write(body, MediaType.ALL, message);
+
+		assertThat(message.getHeaders().getContentType(), nullValue());
+		assertThat(message.getBodyAsString(StandardCharsets.UTF_8), equalTo("{\"id\":1}"));
+	}
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Приложение, запущенное отдельной JVM из исполняемого jar. Вывод пишется в файл в рабочем каталоге.
+ * Отдельные процессы нужны потому, что в gateway и server есть классы с одинаковыми полными именами.
+ */
+@Slf4j
+public class ApplicationProcess implements AutoCloseable {
+	private final String name;
+	private final int port;
+	private final Process process;
+
+	private ApplicationProcess(String name, int port, Process process) {
+		this.name = name;
+		this.port = port;
+		this.process = process;
+	}
+
+	public static ApplicationProcess start(String name, Path jar, List<String> jvmArgs, int port, List<String> appArgs,
+	                                       Path workDir) throws IOException {
+		if (!Files.isRegularFile(jar)) {
+			throw new IllegalStateException("Не найден jar " + jar + ", соберите проект: mvn package -DskipTests");
+		}
+
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArgs);
+		command.add("-jar");
+		command.add(jar.toAbsolutePath().toString());
+		command.add("--server.port=" + port);
+		command.addAll(appArgs);
+
+		Path logFile = workDir.resolve(name + ".log");
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(logFile.toFile())
+				.start();
+		log.info("Запущен {} на порту {}, журнал: {}", name, port, logFile);
+
+		return new ApplicationProcess(name, port, process);
+	}
+
+	public String baseUrl() {
+		return "http://localhost:" + port;
+	}
+
+	public void awaitHealthy(Duration timeout) throws InterruptedException {
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/health")).build();
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException(name + " завершился с кодом " + process.exitValue());
+			}
+			try {
+				if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					log.info("{} готов к работе", name);
+					return;
+				}
+			} catch (IOException e) {
+				// Приложение ещё не слушает порт
+			}
+			Thread.sleep(500);
+		}
+
+		throw new IllegalStateException(name + " не поднялся за " + timeout.toSeconds() + " с");
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		process.destroy();
+		if (!process.waitFor(30, TimeUnit.SECONDS)) {
+			process.destroyForcibly();
+		}
+		log.info("{} остановлен", name);
+	}
+}
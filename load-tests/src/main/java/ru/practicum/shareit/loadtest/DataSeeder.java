@@ -0,0 +1,142 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+
+import java.sql.*;
+
+/**
+ * Создаёт схему миграциями сервера и заполняет её пакетными вставками JDBC до старта приложений.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataSeeder {
+	private static final int BATCH_SIZE = 10_000;
+	// allocationSize последовательности items_seq в Item
+	private static final int ITEM_ID_ALLOCATION = 50;
+
+	private final String jdbcUrl;
+	private final DataSet dataSet;
+
+	public void migrateAndSeed() throws SQLException {
+		Flyway.configure()
+				.dataSource(jdbcUrl, "sa", "")
+				.locations("classpath:db/migration")
+				.load()
+				.migrate();
+
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+			connection.setAutoCommit(false);
+			seedUsers(connection);
+			seedRequests(connection);
+			seedItems(connection);
+			seedBookings(connection);
+			seedComments(connection);
+			restartIdentities(connection);
+		}
+	}
+
+	private void seedUsers(Connection connection) throws SQLException {
+		insert(connection, "users", "INSERT INTO users (id, email, name) VALUES (?, ?, ?)", dataSet.users(),
+				(statement, id) -> {
+					statement.setLong(1, id);
+					statement.setString(2, "user" + id + "@shareit.ru");
+					statement.setString(3, "Пользователь " + id);
+				});
+	}
+
+	private void seedRequests(Connection connection) throws SQLException {
+		insert(connection, "requests",
+				"INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)",
+				dataSet.requests(),
+				(statement, id) -> {
+					statement.setLong(1, id);
+					statement.setString(2, "Нужна " + dataSet.itemDescription(id));
+					statement.setLong(3, dataSet.requestorOfRequest(id));
+					statement.setTimestamp(4, Timestamp.valueOf(dataSet.startOfBooking(id)));
+				});
+	}
+
+	private void seedItems(Connection connection) throws SQLException {
+		insert(connection, "items",
+				"INSERT INTO items (id, name, description, available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+				dataSet.items(),
+				(statement, id) -> {
+					statement.setLong(1, id);
+					statement.setString(2, dataSet.itemName(id));
+					statement.setString(3, dataSet.itemDescription(id));
+					statement.setBoolean(4, dataSet.isAvailable(id));
+					statement.setLong(5, dataSet.ownerOfItem(id));
+					Long requestId = dataSet.requestOfItem(id);
+					if (requestId == null) {
+						statement.setNull(6, Types.BIGINT);
+					} else {
+						statement.setLong(6, requestId);
+					}
+				});
+	}
+
+	private void seedBookings(Connection connection) throws SQLException {
+		insert(connection, "bookings",
+				"INSERT INTO bookings (id, start_date, end_date, item_id, status, booker_id) VALUES (?, ?, ?, ?, ?, ?)",
+				dataSet.bookings(),
+				(statement, id) -> {
+					statement.setLong(1, id);
+					statement.setTimestamp(2, Timestamp.valueOf(dataSet.startOfBooking(id)));
+					statement.setTimestamp(3, Timestamp.valueOf(dataSet.endOfBooking(id)));
+					statement.setLong(4, dataSet.itemOfBooking(id));
+					statement.setString(5, dataSet.statusOfBooking(id));
+					statement.setLong(6, dataSet.bookerOfBooking(id));
+				});
+	}
+
+	// Отзывы оставляют авторы каждого 50-го бронирования
+	private void seedComments(Connection connection) throws SQLException {
+		insert(connection, "comments",
+				"INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+				dataSet.comments(),
+				(statement, id) -> {
+					long bookingId = id * 50;
+					statement.setLong(1, id);
+					statement.setString(2, "Всё отлично, спасибо! Отзыв " + id);
+					statement.setLong(3, dataSet.itemOfBooking(bookingId));
+					statement.setLong(4, dataSet.bookerOfBooking(bookingId));
+					statement.setTimestamp(5, Timestamp.valueOf(dataSet.endOfBooking(bookingId)));
+				});
+	}
+
+	// Строки вставлены с явными id, поэтому счётчики identity переводятся за последний id.
+	// id вещей выдаёт items_seq: её очередное значение — верхняя граница диапазона из ITEM_ID_ALLOCATION id
+	private void restartIdentities(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (dataSet.users() + 1));
+			statement.execute("ALTER TABLE requests ALTER COLUMN id RESTART WITH " + (dataSet.requests() + 1));
+			statement.execute("ALTER SEQUENCE items_seq RESTART WITH " + (dataSet.items() + ITEM_ID_ALLOCATION));
+			statement.execute("ALTER TABLE bookings ALTER COLUMN id RESTART WITH " + (dataSet.bookings() + 1));
+			statement.execute("ALTER TABLE comments ALTER COLUMN id RESTART WITH " + (dataSet.comments() + 1));
+		}
+		connection.commit();
+	}
+
+	private void insert(Connection connection, String table, String sql, long count, RowWriter writer)
+			throws SQLException {
+		long started = System.nanoTime();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (long id = 1; id <= count; id++) {
+				writer.write(statement, id);
+				statement.addBatch();
+				if (id % BATCH_SIZE == 0 || id == count) {
+					statement.executeBatch();
+					connection.commit();
+				}
+			}
+		}
+		log.info("Таблица {}: вставлено {} строк за {} с", table, count, (System.nanoTime() - started) / 1_000_000_000);
+	}
+
+	@FunctionalInterface
+	private interface RowWriter {
+		void write(PreparedStatement statement, long id) throws SQLException;
+	}
+}
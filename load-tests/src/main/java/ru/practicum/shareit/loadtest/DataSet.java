@@ -0,0 +1,116 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+
+/**
+ * Детерминированная модель наполнения: связи между сущностями вычисляются по id, поэтому генератор
+ * трафика знает владельца вещи и автора бронирования, не читая БД.
+ */
+public class DataSet {
+	private static final String[] WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "отвертка",
+			"шуруповерт", "пила", "гитара", "самокат", "проектор", "мангал", "спальник", "каяк", "лобзик"};
+
+	private final int users;
+	private final int items;
+	private final int bookings;
+	private final LocalDateTime seedTime;
+
+	public DataSet(LoadTestConfig config, LocalDateTime seedTime) {
+		this.users = config.getUsers();
+		this.items = config.getItems();
+		this.bookings = config.getBookings();
+		this.seedTime = seedTime;
+	}
+
+	public int users() {
+		return users;
+	}
+
+	public int items() {
+		return items;
+	}
+
+	public int bookings() {
+		return bookings;
+	}
+
+	public int requests() {
+		return Math.max(1, users / 10);
+	}
+
+	public int comments() {
+		return bookings / 50;
+	}
+
+	public long ownerOfItem(long itemId) {
+		return (itemId - 1) % users + 1;
+	}
+
+	public boolean isAvailable(long itemId) {
+		return itemId % 10 != 0;
+	}
+
+	public String itemName(long itemId) {
+		return capitalize(word(itemId)) + " " + itemId;
+	}
+
+	public String itemDescription(long itemId) {
+		return capitalize(word(itemId * 7 + 3)) + " и " + word(itemId * 13 + 5) + ", почти новая, вещь номер " + itemId;
+	}
+
+	public Long requestOfItem(long itemId) {
+		return itemId % 20 == 0 ? (itemId / 20 - 1) % requests() + 1 : null;
+	}
+
+	public long requestorOfRequest(long requestId) {
+		return (requestId * 7) % users + 1;
+	}
+
+	public long itemOfBooking(long bookingId) {
+		return hash(bookingId, 0x9E3779B97F4A7C15L) % items + 1;
+	}
+
+	public long bookerOfBooking(long bookingId) {
+		long booker = hash(bookingId, 0xC2B2AE3D27D4EB4FL) % users + 1;
+		long owner = ownerOfItem(itemOfBooking(bookingId));
+
+		return booker == owner ? booker % users + 1 : booker;
+	}
+
+	// Бронирования распределены от года назад до двух месяцев вперёд, длительностью от 1 до 7 дней
+	public LocalDateTime startOfBooking(long bookingId) {
+		return seedTime.plusHours(hash(bookingId, 0x165667B19E3779F9L) % (425 * 24) - 365 * 24);
+	}
+
+	public LocalDateTime endOfBooking(long bookingId) {
+		return startOfBooking(bookingId).plusDays(1 + bookingId % 7);
+	}
+
+	public String statusOfBooking(long bookingId) {
+		long bucket = bookingId % 10;
+		if (bucket < 7) {
+			return "APPROVED";
+		}
+
+		return bucket < 9 ? "WAITING" : "REJECTED";
+	}
+
+	public String searchWord(long seed) {
+		return word(seed).substring(0, 4);
+	}
+
+	private static String word(long seed) {
+		return WORDS[(int) (Math.floorMod(seed, WORDS.length))];
+	}
+
+	private static String capitalize(String word) {
+		return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+	}
+
+	private static long hash(long value, long multiplier) {
+		long mixed = value * multiplier;
+		mixed ^= mixed >>> 31;
+
+		return mixed & Long.MAX_VALUE;
+	}
+}
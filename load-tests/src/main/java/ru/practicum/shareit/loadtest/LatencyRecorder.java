@@ -0,0 +1,73 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Задержки по эндпоинтам. Выборки хранятся целиком, перцентили считаются точно по отсортированному массиву.
+ * Дополнительно считается наибольшее число запросов, одновременно ожидавших ответа gateway.
+ */
+public class LatencyRecorder {
+	private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger peakInFlight = new AtomicInteger();
+
+	public void started() {
+		peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+	}
+
+	public void record(String endpoint, long nanos, boolean success) {
+		inFlight.decrementAndGet();
+		samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, success);
+	}
+
+	public int peakInFlight() {
+		return peakInFlight.get();
+	}
+
+	public List<EndpointStats> summarize(double seconds) {
+		List<EndpointStats> result = new ArrayList<>();
+		samples.forEach((endpoint, endpointSamples) -> result.add(endpointSamples.summarize(endpoint, seconds)));
+		result.sort(Comparator.comparing(EndpointStats::endpoint));
+
+		return result;
+	}
+
+	public record EndpointStats(String endpoint, long requests, long errors, double throughput,
+	                            double p50Millis, double p99Millis) {
+	}
+
+	private static class Samples {
+		private long[] nanos = new long[1024];
+		private int size;
+		private long errors;
+
+		synchronized void add(long value, boolean success) {
+			if (size == nanos.length) {
+				nanos = Arrays.copyOf(nanos, size * 2);
+			}
+			nanos[size++] = value;
+			if (!success) {
+				errors++;
+			}
+		}
+
+		synchronized EndpointStats summarize(String endpoint, double seconds) {
+			long[] sorted = Arrays.copyOf(nanos, size);
+			Arrays.sort(sorted);
+
+			return new EndpointStats(endpoint, size, errors, size / seconds,
+					percentile(sorted, 0.50), percentile(sorted, 0.99));
+		}
+
+		private static double percentile(long[] sorted, double quantile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(quantile * sorted.length) - 1;
+
+			return sorted[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+}
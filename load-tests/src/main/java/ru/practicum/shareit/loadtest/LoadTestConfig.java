@@ -0,0 +1,67 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Параметры прогона. Все значения задаются системными свойствами loadtest.*, например
+ * {@code -Dloadtest.users=1000 -Dloadtest.items=10000 -Dloadtest.bookings=50000 -Dloadtest.duration=30s}.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LoadTestConfig {
+	int users;
+	int items;
+	int bookings;
+	int concurrency;
+	boolean virtualThreads;
+	int gatewayPoolSize;
+	int dbPoolSize;
+	Duration warmup;
+	Duration duration;
+	Path workDir;
+	Path serverJar;
+	Path gatewayJar;
+	List<String> serverJvmArgs;
+	List<String> gatewayJvmArgs;
+
+	public static LoadTestConfig fromSystemProperties() {
+		int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+		return new LoadTestConfig(
+				Integer.getInteger("loadtest.users", 100_000),
+				Integer.getInteger("loadtest.items", 1_000_000),
+				Integer.getInteger("loadtest.bookings", 5_000_000),
+				concurrency,
+				Boolean.getBoolean("loadtest.virtualThreads"),
+				// Каждый клиент прогона держит не больше одного соединения gateway -> server
+				Integer.getInteger("loadtest.gatewayPoolSize", Math.max(concurrency, 200)),
+				Integer.getInteger("loadtest.dbPoolSize", 10),
+				Duration.parse("PT" + System.getProperty("loadtest.warmup", "30s")),
+				Duration.parse("PT" + System.getProperty("loadtest.duration", "120s")),
+				Path.of(System.getProperty("loadtest.workDir", "target/load-test")).toAbsolutePath(),
+				Path.of(System.getProperty("loadtest.serverJar", "server/target/server-0.0.1-SNAPSHOT-exec.jar")),
+				Path.of(System.getProperty("loadtest.gatewayJar", "gateway/target/gateway-0.0.1-SNAPSHOT.jar")),
+				splitArgs(System.getProperty("loadtest.serverJvmArgs", "-Xmx2g")),
+				splitArgs(System.getProperty("loadtest.gatewayJvmArgs", "-Xmx512m"))
+		);
+	}
+
+	private static List<String> splitArgs(String args) {
+		return args.isBlank() ? List.of() : List.of(args.trim().split("\\s+"));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("users=%d, items=%d, bookings=%d, concurrency=%d, virtualThreads=%b, "
+						+ "gatewayPoolSize=%d, dbPoolSize=%d, warmup=%ds, duration=%ds",
+				users, items, bookings, concurrency, virtualThreads, gatewayPoolSize, dbPoolSize,
+				warmup.toSeconds(), duration.toSeconds());
+	}
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Сквозной нагрузочный прогон: H2 в файле, server и gateway отдельными JVM, смешанный трафик через gateway.
+ * Итог — таблица p50/p99 и пропускной способности по эндпоинтам и файл report.csv в рабочем каталоге.
+ */
+@Slf4j
+public class LoadTestRunner {
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(10);
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+		log.info("Параметры нагрузочного прогона: {}", config);
+
+		prepareWorkDir(config.getWorkDir());
+		String jdbcUrl = "jdbc:h2:file:" + config.getWorkDir().resolve("shareit") + ";DB_CLOSE_ON_EXIT=FALSE";
+		DataSet dataSet = new DataSet(config, LocalDateTime.now());
+
+		long seedStarted = System.nanoTime();
+		new DataSeeder(jdbcUrl, dataSet).migrateAndSeed();
+		log.info("База заполнена за {} с", (System.nanoTime() - seedStarted) / 1_000_000_000);
+
+		int serverPort = freePort();
+		int gatewayPort = freePort();
+		try (ApplicationProcess server = ApplicationProcess.start("server", config.getServerJar(),
+				config.getServerJvmArgs(), serverPort, List.of(
+						"--spring.datasource.url=" + jdbcUrl,
+						"--spring.datasource.driverClassName=org.h2.Driver",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.threads.virtual.enabled=" + config.isVirtualThreads(),
+						"--spring.datasource.hikari.maximum-pool-size=" + config.getDbPoolSize(),
+						// Журнал запросов на уровне INFO искажает задержки сильнее, чем сама работа
+						"--logging.level.ru.practicum=WARN",
+						"--logging.level.org.springframework.transaction.interceptor=WARN",
+						"--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"),
+				config.getWorkDir())) {
+			server.awaitHealthy(STARTUP_TIMEOUT);
+
+			try (ApplicationProcess gateway = ApplicationProcess.start("gateway", config.getGatewayJar(),
+					config.getGatewayJvmArgs(), gatewayPort, List.of(
+							"--shareit-server.url=" + server.baseUrl(),
+							"--spring.threads.virtual.enabled=" + config.isVirtualThreads(),
+							"--shareit-server.http.max-total=" + config.getGatewayPoolSize(),
+							"--shareit-server.http.max-per-route=" + config.getGatewayPoolSize(),
+							"--logging.level.ru.practicum=WARN",
+							"--logging.level.org.springframework.web.client.RestTemplate=WARN"),
+					config.getWorkDir())) {
+				gateway.awaitHealthy(STARTUP_TIMEOUT);
+
+				TrafficMix trafficMix = new TrafficMix(gateway.baseUrl(), dataSet);
+				log.info("Прогрев {} с", config.getWarmup().toSeconds());
+				drive(trafficMix, config.getConcurrency(), config.getWarmup());
+				log.info("Измерение {} с", config.getDuration().toSeconds());
+				LatencyRecorder recorder = drive(trafficMix, config.getConcurrency(), config.getDuration());
+
+				report(recorder.summarize(config.getDuration().toMillis() / 1000.0), recorder.peakInFlight(), config);
+			}
+		}
+	}
+
+	private static LatencyRecorder drive(TrafficMix trafficMix, int concurrency, Duration duration)
+			throws InterruptedException {
+		LatencyRecorder recorder = new LatencyRecorder();
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		long deadline = System.nanoTime() + duration.toNanos();
+
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		for (int worker = 0; worker < concurrency; worker++) {
+			SplittableRandom random = new SplittableRandom(worker * 7919L + System.nanoTime());
+			workers.submit(() -> {
+				while (System.nanoTime() < deadline) {
+					TrafficMix.Endpoint endpoint = trafficMix.next(random);
+					recorder.started();
+					long started = System.nanoTime();
+					boolean success;
+					try {
+						int status = client.send(endpoint.build(random), HttpResponse.BodyHandlers.discarding())
+								.statusCode();
+						success = status < 400;
+					} catch (IOException e) {
+						success = false;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					recorder.record(endpoint.name(), System.nanoTime() - started, success);
+				}
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+
+		return recorder;
+	}
+
+	private static void report(List<LatencyRecorder.EndpointStats> stats, int peakInFlight, LoadTestConfig config)
+			throws IOException {
+		String header = String.format(Locale.ROOT, "%-22s %10s %8s %10s %10s %10s",
+				"endpoint", "requests", "errors", "req/s", "p50, ms", "p99, ms");
+		List<String> lines = new ArrayList<>();
+		lines.add(header);
+		long requests = 0;
+		double throughput = 0;
+		for (LatencyRecorder.EndpointStats endpoint : stats) {
+			lines.add(String.format(Locale.ROOT, "%-22s %10d %8d %10.1f %10.2f %10.2f", endpoint.endpoint(),
+					endpoint.requests(), endpoint.errors(), endpoint.throughput(),
+					endpoint.p50Millis(), endpoint.p99Millis()));
+			requests += endpoint.requests();
+			throughput += endpoint.throughput();
+		}
+		lines.add(String.format(Locale.ROOT, "%-22s %10d %8s %10.1f", "total", requests, "", throughput));
+		lines.add(String.format(Locale.ROOT, "%-22s %10d", "peak in-flight", peakInFlight));
+		log.info("Результаты ({}):\n{}", config, String.join("\n", lines));
+
+		Path csv = config.getWorkDir().resolve("report.csv");
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+			writer.println("endpoint,requests,errors,throughput,p50_ms,p99_ms");
+			for (LatencyRecorder.EndpointStats endpoint : stats) {
+				writer.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f%n", endpoint.endpoint(), endpoint.requests(),
+						endpoint.errors(), endpoint.throughput(), endpoint.p50Millis(), endpoint.p99Millis());
+			}
+		}
+		log.info("Отчёт сохранён в {}", csv);
+	}
+
+	private static void prepareWorkDir(Path workDir) throws IOException {
+		Files.createDirectories(workDir);
+		try (Stream<Path> files = Files.list(workDir)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				if (file.getFileName().toString().startsWith("shareit.")) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
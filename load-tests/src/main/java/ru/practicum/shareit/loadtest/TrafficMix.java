@@ -0,0 +1,108 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Смешанная нагрузка на gateway: веса примерно соответствуют доле чтения и записи в реальном трафике.
+ */
+public class TrafficMix {
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+	private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+	private final String gatewayUrl;
+	private final DataSet dataSet;
+	private final List<Endpoint> endpoints;
+	private final int totalWeight;
+
+	public TrafficMix(String gatewayUrl, DataSet dataSet) {
+		this.gatewayUrl = gatewayUrl;
+		this.dataSet = dataSet;
+		this.endpoints = List.of(
+				new Endpoint("GET /users/{id}", 10, (random, builder) -> {
+					long userId = randomUser(random);
+					return builder.uri(uri("/users/" + userId)).GET();
+				}),
+				new Endpoint("GET /items/{id}", 20, (random, builder) -> {
+					long itemId = randomItem(random);
+					return builder.uri(uri("/items/" + itemId))
+							.header(USER_HEADER, String.valueOf(dataSet.ownerOfItem(itemId))).GET();
+				}),
+				new Endpoint("GET /items", 10, (random, builder) -> builder.uri(uri("/items"))
+						.header(USER_HEADER, String.valueOf(randomUser(random))).GET()),
+				new Endpoint("GET /items/search", 15, (random, builder) -> builder
+						.uri(uri("/items/search?text=" + dataSet.searchWord(random.nextLong()) + "&size=20"))
+						.header(USER_HEADER, String.valueOf(randomUser(random))).GET()),
+				new Endpoint("GET /bookings", 15, (random, builder) -> {
+					long bookingId = randomBooking(random);
+					return builder.uri(uri("/bookings?state=ALL&size=20"))
+							.header(USER_HEADER, String.valueOf(dataSet.bookerOfBooking(bookingId))).GET();
+				}),
+				new Endpoint("GET /bookings/owner", 10, (random, builder) -> builder
+						.uri(uri("/bookings/owner?state=ALL&size=20"))
+						.header(USER_HEADER, String.valueOf(randomUser(random))).GET()),
+				new Endpoint("GET /bookings/{id}", 10, (random, builder) -> {
+					long bookingId = randomBooking(random);
+					return builder.uri(uri("/bookings/" + bookingId))
+							.header(USER_HEADER, String.valueOf(dataSet.bookerOfBooking(bookingId))).GET();
+				}),
+				new Endpoint("POST /bookings", 10, (random, builder) -> {
+					long itemId = randomAvailableItem(random);
+					long bookerId = dataSet.ownerOfItem(itemId) % dataSet.users() + 1;
+					LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(300));
+					String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+							itemId, start.format(DATE_TIME), start.plusDays(1 + random.nextInt(5)).format(DATE_TIME));
+					return builder.uri(uri("/bookings"))
+							.header(USER_HEADER, String.valueOf(bookerId))
+							.header("Content-Type", "application/json")
+							.POST(HttpRequest.BodyPublishers.ofString(body));
+				})
+		);
+		this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+	}
+
+	public Endpoint next(SplittableRandom random) {
+		int ticket = random.nextInt(totalWeight);
+		for (Endpoint endpoint : endpoints) {
+			ticket -= endpoint.weight();
+			if (ticket < 0) {
+				return endpoint;
+			}
+		}
+
+		return endpoints.getLast();
+	}
+
+	private URI uri(String path) {
+		return URI.create(gatewayUrl + path);
+	}
+
+	private long randomUser(SplittableRandom random) {
+		return random.nextLong(dataSet.users()) + 1;
+	}
+
+	private long randomItem(SplittableRandom random) {
+		return random.nextLong(dataSet.items()) + 1;
+	}
+
+	private long randomAvailableItem(SplittableRandom random) {
+		long itemId = randomItem(random);
+		return dataSet.isAvailable(itemId) ? itemId : itemId % dataSet.items() + 1;
+	}
+
+	private long randomBooking(SplittableRandom random) {
+		return random.nextLong(dataSet.bookings()) + 1;
+	}
+
+	public record Endpoint(String name, int weight,
+	                       BiFunction<SplittableRandom, HttpRequest.Builder, HttpRequest.Builder> request) {
+		public HttpRequest build(SplittableRandom random) {
+			return request.apply(random, HttpRequest.newBuilder()).build();
+		}
+	}
+}
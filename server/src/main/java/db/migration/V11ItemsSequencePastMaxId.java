@@ -0,0 +1,55 @@
+package db.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.boot.jdbc.DatabaseDriver;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Переводит items_seq за максимальный id вещей на всех БД, кроме PostgreSQL: V9 создаёт последовательность
+ * с единицы, а на PostgreSQL её уже перевела V10. Повторный перевод там мог бы вернуть последовательность
+ * к диапазонам id, уже выделенным работающим экземплярам server.
+ * <p>
+ * Значение вычисляется в Java, потому что ALTER SEQUENCE ... RESTART WITH принимает только константу.
+ * Версия задаётся явно, а не именем класса вида V11__..., которое не проходит проверку стиля.
+ */
+public class V11ItemsSequencePastMaxId extends BaseJavaMigration {
+	// Равен allocationSize в Item: очередное значение последовательности — верхняя граница выделяемого диапазона
+	private static final long ALLOCATION_SIZE = 50;
+
+	@Override
+	protected void init() {
+	}
+
+	@Override
+	public MigrationVersion getVersion() {
+		return MigrationVersion.fromVersion("11");
+	}
+
+	@Override
+	public String getDescription() {
+		return "items sequence past max id";
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		Connection connection = context.getConnection();
+		if (DatabaseDriver.fromProductName(connection.getMetaData().getDatabaseProductName())
+				== DatabaseDriver.POSTGRESQL) {
+			return;
+		}
+
+		try (Statement statement = connection.createStatement()) {
+			long maxId;
+			try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM items")) {
+				resultSet.next();
+				maxId = resultSet.getLong(1);
+			}
+			statement.execute("ALTER SEQUENCE items_seq RESTART WITH " + (maxId + ALLOCATION_SIZE));
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проверка в БД: пересекается ли полуинтервал [start, end) с активным бронированием вещи, кроме excludedBookingId.
+ */
+public interface BookingOverlapCheck {
+	boolean exists(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId);
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+@Configuration
+public class BookingOverlapCheckConfig {
+
+	/**
+	 * На PostgreSQL пересечения ищет GiST-индекс ограничения ex_bookings_item_period (миграция V6),
+	 * на остальных БД — сравнение границ периодов по B-tree индексу.
+	 */
+	@Bean
+	public BookingOverlapCheck bookingOverlapCheck(@Value("${spring.datasource.url}") String datasourceUrl,
+	                                               BookingRepository bookingRepository) {
+		if (DatabaseDriver.fromJdbcUrl(datasourceUrl) == DatabaseDriver.POSTGRESQL) {
+			return new PostgresBookingOverlapCheck(bookingRepository);
+		}
+
+		return new JpqlBookingOverlapCheck(bookingRepository);
+	}
+}
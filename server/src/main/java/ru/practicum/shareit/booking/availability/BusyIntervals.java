@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+/**
+ * Слияние бронирований вещи в непересекающиеся периоды занятости внутри окна [from, to).
+ * Бронирования должны идти по возрастанию начала; в памяти держится только текущий период,
+ * поэтому длинное окно обрабатывается потоком.
+ */
+public final class BusyIntervals {
+	private BusyIntervals() {
+	}
+
+	/**
+	 * Передаёт в sink периоды занятости, обрезанные по границам окна. Смежные и пересекающиеся бронирования
+	 * объединяются. Возвращает число переданных периодов.
+	 */
+	public static int merge(Iterator<? extends BookingInterval> sortedByStart, LocalDateTime from, LocalDateTime to,
+	                        BiConsumer<LocalDateTime, LocalDateTime> sink) {
+		int merged = 0;
+		LocalDateTime busyStart = null;
+		LocalDateTime busyEnd = null;
+		while (sortedByStart.hasNext()) {
+			BookingInterval interval = sortedByStart.next();
+			LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+			LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+			if (!end.isAfter(start)) {
+				continue;
+			}
+
+			if (busyEnd != null && !start.isAfter(busyEnd)) {
+				if (end.isAfter(busyEnd)) {
+					busyEnd = end;
+				}
+				continue;
+			}
+
+			if (busyEnd != null) {
+				sink.accept(busyStart, busyEnd);
+				merged++;
+			}
+			busyStart = start;
+			busyEnd = end;
+		}
+
+		if (busyEnd != null) {
+			sink.accept(busyStart, busyEnd);
+			merged++;
+		}
+		return merged;
+	}
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Дерево полуинтервалов [start, end) бронирований одной вещи: декартово дерево по ключу (start, id),
+ * каждый узел хранит максимальный end своего поддерева. Вставка, удаление и проверка пересечения — O(log n)
+ * в среднем. Начала хранятся и по id: удаление не зависит от точности, с которой БД вернула дату. Не потокобезопасно, синхронизацию обеспечивает {@link ItemAvailabilityIndex}.
+ */
+class IntervalTree {
+	private final Map<Long, LocalDateTime> starts = new HashMap<>();
+	private Node root;
+
+	void add(long id, LocalDateTime start, LocalDateTime end) {
+		remove(id);
+		Node[] parts = split(root, start, id);
+		root = merge(merge(parts[0], new Node(id, start, end)), parts[1]);
+		starts.put(id, start);
+	}
+
+	void remove(long id) {
+		LocalDateTime start = starts.remove(id);
+		if (start == null) {
+			return;
+		}
+
+		Node[] parts = split(root, start, id);
+		Node[] rest = split(parts[1], start, id + 1);
+		root = merge(parts[0], rest[1]);
+	}
+
+	/**
+	 * Если в левом поддереве есть интервал, заканчивающийся после start, но пересечения там нет, то этот интервал
+	 * начинается не раньше end — а все интервалы правого поддерева начинаются ещё позже. Поэтому спуск идёт
+	 * по одной ветви.
+	 */
+	boolean overlaps(LocalDateTime start, LocalDateTime end) {
+		Node node = root;
+		while (node != null && node.maxEnd.isAfter(start)) {
+			if (node.start.isBefore(end) && node.end.isAfter(start)) {
+				return true;
+			}
+			node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+		}
+		return false;
+	}
+
+	int size() {
+		return starts.size();
+	}
+
+	// Разделение на узлы с ключом меньше (start, id) и остальные
+	private static Node[] split(Node node, LocalDateTime start, long id) {
+		if (node == null) {
+			return new Node[2];
+		}
+
+		if (node.compareTo(start, id) < 0) {
+			Node[] parts = split(node.right, start, id);
+			node.right = parts[0];
+			node.update();
+			parts[0] = node;
+			return parts;
+		}
+
+		Node[] parts = split(node.left, start, id);
+		node.left = parts[1];
+		node.update();
+		parts[1] = node;
+		return parts;
+	}
+
+	private static Node merge(Node left, Node right) {
+		if (left == null) {
+			return right;
+		}
+
+		if (right == null) {
+			return left;
+		}
+
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+			return left;
+		}
+
+		right.left = merge(left, right.left);
+		right.update();
+		return right;
+	}
+
+	private static final class Node {
+		final long id;
+		final LocalDateTime start;
+		final LocalDateTime end;
+		final int priority = ThreadLocalRandom.current().nextInt();
+		LocalDateTime maxEnd;
+		Node left;
+		Node right;
+
+		Node(long id, LocalDateTime start, LocalDateTime end) {
+			this.id = id;
+			this.start = start;
+			this.end = end;
+			this.maxEnd = end;
+		}
+
+		int compareTo(LocalDateTime otherStart, long otherId) {
+			int byStart = start.compareTo(otherStart);
+			return byStart != 0 ? byStart : Long.compare(id, otherId);
+		}
+
+		void update() {
+			maxEnd = end;
+			if (left != null && left.maxEnd.isAfter(maxEnd)) {
+				maxEnd = left.maxEnd;
+			}
+			if (right != null && right.maxEnd.isAfter(maxEnd)) {
+				maxEnd = right.maxEnd;
+			}
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Занятость часто бронируемых вещей в памяти: дерево интервалов активных бронирований на вещь.
+ * Дерево загружается из БД при первом обращении к вещи и вытесняется по спецификации Caffeine.
+ * <p>
+ * К дереву обращаются только под блокировкой строки вещи, а новые бронирования попадают в него перед фиксацией
+ * транзакции, пока блокировка ещё держится. Поэтому под блокировкой дерево знает все активные бронирования вещи
+ * и проверка периода обходится без запроса к БД. Снятые бронирования убираются после фиксации: до этого
+ * дерево лишь строже БД. На PostgreSQL пересечения дополнительно запрещает ограничение-исключение.
+ * <p>
+ * Изменения, сделанные другими экземплярами server, индекс не видит — при нескольких экземплярах его
+ * следует выключать. Выключенный индекс проверяет период запросом к БД.
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+	// Бронирования в этих статусах занимают вещь на свой период
+	public static final Set<Status> BLOCKING_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+	private static final Long NO_BOOKING_ID = 0L;
+
+	private final boolean enabled;
+	private final BookingRepository bookingRepository;
+	private final BookingOverlapCheck overlapCheck;
+	private final Cache<Long, IntervalTree> trees;
+
+	public ItemAvailabilityIndex(@Value("${shareit.booking.availability-index.enabled:false}") boolean enabled,
+	                             @Value("${shareit.booking.availability-index.spec:maximumSize=10000,expireAfterAccess=10m}")
+	                             String spec,
+	                             BookingRepository bookingRepository,
+	                             BookingOverlapCheck overlapCheck,
+	                             MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.bookingRepository = bookingRepository;
+		this.overlapCheck = overlapCheck;
+		this.trees = Caffeine.from(CaffeineSpec.parse(spec)).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, trees, "item-availability");
+	}
+
+	/**
+	 * true, если период [start, end) пересекается с активным бронированием вещи. Вызывается под блокировкой
+	 * строки вещи.
+	 */
+	public boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+		if (!enabled) {
+			return overlapCheck.exists(itemId, start, end, NO_BOOKING_ID);
+		}
+
+		IntervalTree tree = trees.get(itemId, this::load);
+		synchronized (tree) {
+			return tree.overlaps(start, end);
+		}
+	}
+
+	// Новое бронирование видно следующему владельцу блокировки вещи; если фиксация не удалась, дерево перечитывается
+	public void booked(Booking booking) {
+		Long itemId = booking.getItem().getId();
+		Long bookingId = booking.getId();
+		LocalDateTime start = booking.getStart();
+		LocalDateTime end = booking.getEnd();
+		beforeCommit(itemId, () -> trees.asMap().computeIfPresent(itemId, (id, tree) -> {
+			synchronized (tree) {
+				tree.add(bookingId, start, end);
+			}
+			return tree;
+		}));
+	}
+
+	public void released(Booking booking) {
+		released(booking.getItem().getId(), booking.getId());
+	}
+
+	public void released(Long itemId, Long bookingId) {
+		afterCommit(() -> trees.asMap().computeIfPresent(itemId, (id, tree) -> {
+			synchronized (tree) {
+				tree.remove(bookingId);
+			}
+			return tree;
+		}));
+	}
+
+	/**
+	 * Период бронирования изменился: дерево вещи перечитывается при следующем обращении. Сброс до фиксации
+	 * под блокировкой вещи не даёт следующему её владельцу проверить новый период по старому дереву,
+	 * сброс после фиксации — загрузить дерево из снимка без изменения.
+	 */
+	public void invalidate(Long itemId) {
+		beforeCommit(itemId, () -> trees.invalidate(itemId));
+		afterCommit(() -> trees.invalidate(itemId));
+	}
+
+	// Прошедшие бронирования не мешают новым, поэтому не загружаются
+	private IntervalTree load(Long itemId) {
+		IntervalTree tree = new IntervalTree();
+		for (BookingInterval interval :
+				bookingRepository.findIntervalsByItemId(itemId, BLOCKING_STATUSES, LocalDateTime.now())) {
+			tree.add(interval.getId(), interval.getStart(), interval.getEnd());
+		}
+		log.debug("Загружено {} активных бронирований вещи с id = {}", tree.size(), itemId);
+		return tree;
+	}
+
+	private void beforeCommit(Long itemId, Runnable action) {
+		if (!enabled) {
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				action.run();
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					trees.invalidate(itemId);
+				}
+			}
+		});
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!enabled) {
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сравнение границ периодов: индекс (item_id, status, start_date) отсекает только бронирования,
+ * начинающиеся после конца периода, поэтому проверка просматривает все более ранние бронирования вещи.
+ */
+@RequiredArgsConstructor
+public class JpqlBookingOverlapCheck implements BookingOverlapCheck {
+	private final BookingRepository bookingRepository;
+
+	@Override
+	public boolean exists(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+		return bookingRepository.existsOverlapping(itemId, ItemAvailabilityIndex.BLOCKING_STATUSES, start, end,
+				excludedBookingId);
+	}
+}
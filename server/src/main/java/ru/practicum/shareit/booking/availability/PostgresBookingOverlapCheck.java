@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Пересечение tsrange оператором &&: запрос обслуживает GiST-индекс ограничения ex_bookings_item_period
+ * и находит пересечение за O(log n) независимо от числа бронирований вещи.
+ */
+@RequiredArgsConstructor
+public class PostgresBookingOverlapCheck implements BookingOverlapCheck {
+	private final BookingRepository bookingRepository;
+
+	@Override
+	public boolean exists(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+		return bookingRepository.existsActiveOverlappingPeriod(itemId, start, end, excludedBookingId);
+	}
+}
@@ -1,13 +1,22 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.ApproveBookingsRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.streaming.StreamingResponses;
 
 import java.util.List;
 
@@ -17,6 +26,7 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 	private final BookingService bookingService;
+	private final ObjectMapper objectMapper;
 	private final String id = "/{booking-id}";
 	private final String owner = "/owner";
 
@@ -63,36 +73,73 @@ public class BookingController {
 		return approvedResponse;
 	}
 
+	/**
+	 * Подтверждение или отклонение сразу нескольких бронирований; итог возвращается по каждому id.
+	 */
+	@PatchMapping
+	@ResponseStatus(HttpStatus.OK)
+	public List<BookingApprovalDto> approveAll(@RequestHeader(headerUserId) Long userId,
+	                                           @RequestParam(name = "approved", defaultValue = "false") Boolean approved,
+	                                           @RequestBody ApproveBookingsRequest request) {
+		log.info("Массовое подтверждение бронирований {} владельцем с id = {}", request.getBookingIds(), userId);
+		List<BookingApprovalDto> outcomes = bookingService.approveBookings(userId, request.getBookingIds(), approved);
+		log.info("Массовое подтверждение бронирований владельцем с id = {} завершено, статус бронирования {}",
+				userId, approved);
+
+		return outcomes;
+	}
+
 	@GetMapping(id)
 	@ResponseStatus(HttpStatus.OK)
-	public BookingDto findById(@RequestHeader(headerUserId) Long userId,
-	                           @PathVariable(pvBookingId) Long bookingId) {
+	public ResponseEntity<BookingDto> findById(@RequestHeader(headerUserId) Long userId,
+	                                           @PathVariable(pvBookingId) Long bookingId) {
 		log.info("Запрос на поиск бронирования по id = {} от пользователя с id = {}", bookingId, userId);
 		BookingDto booking = bookingService.findBookingById(bookingId, userId);
 		log.info("Найдено бронирование {}", booking);
 
-		return booking;
+		return EntityTags.ok(EntityTags.of(BookingMapper.versionOf(booking)), booking);
 	}
 
 	@GetMapping
 	@ResponseStatus(HttpStatus.OK)
-	public List<BookingDto> findAllByBooker(@RequestHeader(headerUserId) Long userId,
-	                                        @RequestParam(name = "state", defaultValue = "ALL") String state) {
+	public ResponseEntity<List<BookingDto>> findAllByBooker(@RequestHeader(headerUserId) Long userId,
+	                                                        @RequestParam(name = "state", defaultValue = "ALL") String state,
+	                                                        @RequestParam(name = "from", defaultValue = "0") Integer from,
+	                                                        @RequestParam(name = "size", defaultValue = "10") Integer size,
+	                                                        @RequestParam(name = "after", required = false) Long after) {
 		log.info("Получения всех бронирования пользователя с id = {}, и статусом {}", userId, state);
-		List<BookingDto> bookings = bookingService.findAllByBooker(userId, state);
+		List<BookingDto> bookings = bookingService.findAllByBooker(userId, state, from, size, after);
 		log.info("Получено {} бронирований пользователя с id = {}", bookings.size(), userId);
 
-		return bookings;
+		return EntityTags.ok(EntityTags.of(bookings.stream().map(BookingMapper::versionOf).toList()), bookings);
 	}
 
 	@GetMapping(owner)
 	@ResponseStatus(HttpStatus.OK)
-	public List<BookingDto> findAllByOwner(@RequestHeader(headerUserId) Long ownerId,
-	                                       @RequestParam(name = "state", defaultValue = "ALL") String state) {
+	public ResponseEntity<List<BookingDto>> findAllByOwner(@RequestHeader(headerUserId) Long ownerId,
+	                                                       @RequestParam(name = "state", defaultValue = "ALL") String state,
+	                                                       @RequestParam(name = "from", defaultValue = "0") Integer from,
+	                                                       @RequestParam(name = "size", defaultValue = "10") Integer size,
+	                                                       @RequestParam(name = "after", required = false) Long after) {
 		log.info("Получение всех бронирований вещей со статусом {} от владельца с id = {}", state, ownerId);
-		List<BookingDto> bookings = bookingService.findAllByOwner(ownerId, state);
+		List<BookingDto> bookings = bookingService.findAllByOwner(ownerId, state, from, size, after);
 		log.info("Получено {} бронирований вещей владельца с id = {}", bookings.size(), ownerId);
 
-		return bookings;
+		return EntityTags.ok(EntityTags.of(bookings.stream().map(BookingMapper::versionOf).toList()), bookings);
+	}
+
+	/**
+	 * Все бронирования вещей владельца начиная с курсора after, построчно в формате NDJSON.
+	 */
+	@GetMapping(value = owner, produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllByOwner(
+			@RequestHeader(headerUserId) Long ownerId,
+			@RequestParam(name = "state", defaultValue = "ALL") String state,
+			@RequestParam(name = "after", required = false) Long after) {
+		log.info("Потоковая выдача бронирований вещей со статусом {} владельцу с id = {}", state, ownerId);
+		bookingService.checkOwnerListing(ownerId, state, after);
+
+		return StreamingResponses.ndjson(objectMapper,
+				sink -> bookingService.streamAllByOwner(ownerId, state, after, sink));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.enums.Status;
+
+/**
+ * Итог массового подтверждения для одного бронирования: новый статус либо причина отказа.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingApprovalDto {
+	Long bookingId;
+
+	Status status;
+
+	String error;
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -29,4 +30,7 @@ public class BookingDto {
 	Status status;
 
 	UserDto booker;
+
+	@JsonIgnore
+	Long version;
 }
\ No newline at end of file
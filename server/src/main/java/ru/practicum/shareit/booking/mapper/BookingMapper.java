@@ -31,6 +31,7 @@ public class BookingMapper {
 		dto.setEnd(booking.getEnd());
 		dto.setStatus(booking.getStatus());
 		dto.setBooker(UserMapper.mapToUserDto(booking.getBooker()));
+		dto.setVersion(booking.getVersion());
 
 		return dto;
 	}
@@ -48,4 +49,9 @@ public class BookingMapper {
 
 		return booking;
 	}
-}
\ No newline at end of file
+
+	public static String versionOf(BookingDto dto) {
+		return "booking/" + dto.getId() + "/" + dto.getVersion() + "/" + ItemMapper.versionOf(dto.getItem())
+				+ "/" + UserMapper.versionOf(dto.getBooker());
+	}
+}
@@ -42,4 +42,7 @@ public class Booking {
 	@ToString.Exclude
 	@JoinColumn(name = "booker_id", nullable = false)
 	User booker;
+
+	@Version
+	long version;
 }
\ No newline at end of file
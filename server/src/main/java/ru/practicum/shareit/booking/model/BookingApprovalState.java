@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.enums.Status;
+
+/**
+ * Всё, что нужно для проверки подтверждения бронирования: вещь и текущий статус.
+ */
+public interface BookingApprovalState {
+	Long getId();
+
+	Long getItemId();
+
+	Status getStatus();
+}
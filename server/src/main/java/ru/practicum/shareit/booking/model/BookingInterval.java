@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования вещи без самой сущности.
+ */
+public interface BookingInterval {
+	Long getId();
+
+	LocalDateTime getStart();
+
+	LocalDateTime getEnd();
+}
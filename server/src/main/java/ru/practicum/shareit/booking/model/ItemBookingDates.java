@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Окончание последнего и начало ближайшего бронирования вещи.
+ */
+public interface ItemBookingDates {
+	Long getItemId();
+
+	LocalDateTime getLastEnd();
+
+	LocalDateTime getNextStart();
+}
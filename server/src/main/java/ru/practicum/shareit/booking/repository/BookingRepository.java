@@ -1,99 +1,265 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalState;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
 import ru.practicum.shareit.enums.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-	// Бронирования пользователя (booker)
-	List<Booking> findAllByBookerId(Long bookerId);
+	// Бронирования пользователя (booker), отсортированные по (start, id): первая страница и страница после курсора.
+	// Вещь, её владелец и арендатор загружаются тем же запросом, чтобы маппинг в BookingDto не вызывал N+1
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByBookerId(Long bookerId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByBookerId(Long bookerId, LocalDateTime afterStart, Long afterId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"and CURRENT_TIMESTAMP BETWEEN b.start and b.end " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllCurrentByBooker(Long bookerId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"and CURRENT_TIMESTAMP BETWEEN b.start and b.end " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllCurrentByBooker(Long bookerId, LocalDateTime afterStart, Long afterId, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.booker.id = :bookerId " +
-			"and CURRENT_TIMESTAMP BETWEEN b.start and b.end")
-	List<Booking> findAllCurrentByBooker(Long bookerId);
+			"and CURRENT_TIMESTAMP > b.end " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findPastByBooker(Long bookerId, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.booker.id = :bookerId " +
-			"and CURRENT_TIMESTAMP > b.end")
-	List<Booking> findPastByBooker(Long bookerId);
+			"and CURRENT_TIMESTAMP > b.end " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findPastByBooker(Long bookerId, LocalDateTime afterStart, Long afterId, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.booker.id = :bookerId " +
-			"and CURRENT_TIMESTAMP < b.start")
-	List<Booking> findAllFutureByBooker(Long bookerId);
+			"and CURRENT_TIMESTAMP < b.start " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllFutureByBooker(Long bookerId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"and CURRENT_TIMESTAMP < b.start " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllFutureByBooker(Long bookerId, LocalDateTime afterStart, Long afterId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"and b.status = :status " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByBookerIdAndStatus(Long bookerId, Status status, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.booker.id = :bookerId " +
+			"and b.status = :status " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByBookerIdAndStatus(Long bookerId, Status status,
+	                                         LocalDateTime afterStart, Long afterId, Pageable page);
+
+	// Бронирования владельца вещи (owner), отсортированные по (start, id): первая страница и страница после курсора
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.item.user.id = :ownerId " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByOwner(Long ownerId, Pageable page);
 
-	List<Booking> findAllByBookerIdAndStatus(Long bookerId, Status status);
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.item.user.id = :ownerId " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByOwner(Long ownerId, LocalDateTime afterStart, Long afterId, Pageable page);
 
-	// Бронирования владельца вещи (owner)
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.item.user.id = :ownerId " +
-			"order by b.start desc")
-	List<Booking> findAllByOwner(Long ownerId);
+			"and b.status = :status " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByOwnerIdAndStatus(Long ownerId, Status status, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.item.user.id = :ownerId " +
 			"and b.status = :status " +
-			"order by b.start desc")
-	List<Booking> findAllByOwnerIdAndStatus(Long ownerId, Status status);
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllByOwnerIdAndStatus(Long ownerId, Status status,
+	                                        LocalDateTime afterStart, Long afterId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.item.user.id = :ownerId " +
+			"and CURRENT_TIMESTAMP BETWEEN b.start and b.end " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllCurrentByOwner(Long ownerId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.item.user.id = :ownerId " +
+			"and CURRENT_TIMESTAMP BETWEEN b.start and b.end " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllCurrentByOwner(Long ownerId, LocalDateTime afterStart, Long afterId, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.item.user.id = :ownerId " +
-			"and CURRENT_TIMESTAMP BETWEEN b.start and b.end")
-	List<Booking> findAllCurrentByOwner(Long ownerId);
+			"and CURRENT_TIMESTAMP > b.end " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllPastBookingByOwnerId(Long ownerId, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.item.user.id = :ownerId " +
-			"and CURRENT_TIMESTAMP > b.end")
-	List<Booking> findAllPastBookingByOwnerId(Long ownerId);
+			"and CURRENT_TIMESTAMP > b.end " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllPastBookingByOwnerId(Long ownerId, LocalDateTime afterStart, Long afterId, Pageable page);
 
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
 	@Query("select b " +
 			"from Booking as b " +
 			"where b.item.user.id = :ownerId " +
-			"and CURRENT_TIMESTAMP < b.start")
-	List<Booking> findAllFutureBookingByOwnerId(Long ownerId);
+			"and CURRENT_TIMESTAMP < b.start " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllFutureBookingByOwnerId(Long ownerId, Pageable page);
+
+	@EntityGraph(attributePaths = {"item", "item.user", "booker"})
+	@Query("select b " +
+			"from Booking as b " +
+			"where b.item.user.id = :ownerId " +
+			"and CURRENT_TIMESTAMP < b.start " +
+			"and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) " +
+			"order by b.start asc, b.id asc")
+	List<Booking> findAllFutureBookingByOwnerId(Long ownerId, LocalDateTime afterStart, Long afterId, Pageable page);
 
 	// Дополнительные методы
 	Boolean existsByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime currentTimeStamp);
 
-	@Query("select b.start " +
+	// Пересечение полуинтервалов [start, end) с бронированиями вещи в указанных статусах, кроме excludedId.
+	// Индекс (item_id, status, start_date) ограничивает только начало, поэтому просматриваются все ранние бронирования
+	@Query("select case when count(b) > 0 then true else false end " +
 			"from Booking as b " +
 			"where b.item.id = :itemId " +
-			"and b.status = :status " +
-			"and :currentTimeStamp < b.start")
-	List<LocalDateTime> findNextBookingStartByItemId(Long itemId, Status status, LocalDateTime currentTimeStamp);
+			"and b.status in :statuses " +
+			"and b.id <> :excludedId " +
+			"and b.start < :end " +
+			"and b.end > :start")
+	boolean existsOverlapping(Long itemId, Collection<Status> statuses, LocalDateTime start, LocalDateTime end,
+	                          Long excludedId);
+
+	// То же для активных бронирований на PostgreSQL. Условие по статусам совпадает с условием ограничения
+	// ex_bookings_item_period буквально, иначе планировщик не применит его частичный GiST-индекс
+	@Query(value = "select exists (select 1 from bookings as b " +
+			"where b.item_id = :itemId " +
+			"and b.status in ('WAITING', 'APPROVED') " +
+			"and b.id <> :excludedId " +
+			"and tsrange(b.start_date, b.end_date) && tsrange(:start, :end))", nativeQuery = true)
+	boolean existsActiveOverlappingPeriod(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedId);
 
-	@Query("select b.end " +
+	@Query("select b.id as id, b.start as start, b.end as end " +
 			"from Booking as b " +
 			"where b.item.id = :itemId " +
-			"and b.status = :status " +
-			"and :currentTimeStamp > b.end")
-	List<LocalDateTime> findLastBookingEndByItemId(Long itemId, Status status, LocalDateTime currentTimeStamp);
+			"and b.status in :statuses " +
+			"and b.end > :after")
+	List<BookingInterval> findIntervalsByItemId(Long itemId, Collection<Status> statuses, LocalDateTime after);
 
-	@Query("select b " +
+	// Бронирования вещи, пересекающие окно, по возрастанию начала. Результат читается из БД порциями
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select b.id as id, b.start as start, b.end as end " +
 			"from Booking as b " +
-			"where b.item.id in :itemIds " +
-			"and b.status = :status " +
-			"and :currentTimeStamp > b.end " +
-			"order by b.end desc")
-	List<Booking> findByItemInAndEndBefore(List<Long> itemIds, Status status, LocalDateTime currentTimeStamp);
+			"where b.item.id = :itemId " +
+			"and b.status in :statuses " +
+			"and b.start < :to " +
+			"and b.end > :from " +
+			"order by b.start asc")
+	Stream<BookingInterval> streamIntervalsInWindow(Long itemId, Collection<Status> statuses,
+	                                                LocalDateTime from, LocalDateTime to);
 
-	@Query("select b " +
+	// Одна строка на вещь: агрегаты считаются в БД, бронирования целиком не загружаются
+	@Query("select b.item.id as itemId, " +
+			"max(case when b.end < :currentTimeStamp then b.end end) as lastEnd, " +
+			"min(case when b.start > :currentTimeStamp then b.start end) as nextStart " +
 			"from Booking as b " +
 			"where b.item.id in :itemIds " +
 			"and b.status = :status " +
-			"and :currentTimeStamp < b.start " +
-			"order by b.start asc")
-	List<Booking> findByItemInAndStartAfter(List<Long> itemIds, Status status, LocalDateTime currentTimeStamp);
+			"group by b.item.id")
+	List<ItemBookingDates> findBookingDatesByItemIds(List<Long> itemIds, Status status, LocalDateTime currentTimeStamp);
+
+	// Строки бронирований блокируются до конца транзакции, в порядке id, чтобы встречные пачки не ждали друг друга по кругу.
+	// Запрос читает только таблицу бронирований: с соединением FOR UPDATE заблокировал бы и строки вещей и владельцев
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select b.id as id, b.item.id as itemId, b.status as status " +
+			"from Booking as b " +
+			"where b.id in :ids " +
+			"order by b.id")
+	List<BookingApprovalState> findApprovalStatesForUpdate(Collection<Long> ids);
+
+	// Статус меняется только у бронирований, всё ещё ожидающих решения; версия растёт, как при обычном сохранении
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Booking as b " +
+			"set b.status = :status, b.version = b.version + 1 " +
+			"where b.id in :ids " +
+			"and b.status = ru.practicum.shareit.enums.Status.WAITING")
+	int decideWaiting(Collection<Long> ids, Status status);
 }
\ No newline at end of file
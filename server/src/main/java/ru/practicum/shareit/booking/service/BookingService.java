@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 	BookingDto create(Long userId, CreateBookingRequest request);
@@ -15,9 +17,15 @@ public interface BookingService {
 
 	BookingDto approveBooking(Long bookingId, Long userId, Boolean approved);
 
+	List<BookingApprovalDto> approveBookings(Long userId, List<Long> bookingIds, Boolean approved);
+
 	BookingDto findBookingById(Long bookingId, Long userId);
 
-	List<BookingDto> findAllByBooker(Long userId, String state);
+	List<BookingDto> findAllByBooker(Long userId, String state, Integer from, Integer size, Long after);
+
+	List<BookingDto> findAllByOwner(Long userId, String state, Integer from, Integer size, Long after);
+
+	void checkOwnerListing(Long userId, String state, Long after);
 
-	List<BookingDto> findAllByOwner(Long userId, String state);
+	void streamAllByOwner(Long userId, String state, Long after, Consumer<? super BookingDto> sink);
 }
\ No newline at end of file
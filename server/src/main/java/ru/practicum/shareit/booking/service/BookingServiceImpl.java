@@ -1,15 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.BookingOverlapCheck;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.concurrency.RetryOnConflict;
 import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.NotBookedException;
@@ -18,26 +26,41 @@ import ru.practicum.shareit.exception.NotOwnerException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.persistence.InBatches;
+import ru.practicum.shareit.persistence.KeysetPage;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+	private static final int STREAM_CHUNK_SIZE = 500;
+	private static final int MAX_BULK_APPROVAL = InBatches.DEFAULT_BATCH_SIZE;
+
 	private final BookingRepository bookingRepository;
-	private final UserRepository userRepository;
+	private final UserService userService;
 	private final ItemRepository itemRepository;
+	private final ItemAvailabilityIndex availabilityIndex;
+	private final BookingOverlapCheck overlapCheck;
+	private final EntityManager entityManager;
 
 	@Override
 	@Transactional
 	public BookingDto create(Long userId, CreateBookingRequest request) {
 		log.info("Запрос на создание бронирования от пользователя с id = {}", userId);
-		User booker = findUserById(userId);
-		Item item = itemRepository.findById(request.getItemId())
+		User booker = userService.getReference(userId);
+		Item item = itemRepository.findByIdForUpdate(request.getItemId())
 				.orElseThrow(() -> new NotFoundException("Вещь с id = " + request.getItemId() + " не найдена"));
 
 		if (!item.getAvailable()) {
@@ -48,7 +71,13 @@ public class BookingServiceImpl implements BookingService {
 			throw new NotBookedException("Нельзя забронировать свою вещь");
 		}
 
+		// Под блокировкой строки вещи параллельные бронирования той же вещи не пройдут проверку вместе
+		if (availabilityIndex.isBooked(item.getId(), request.getStart(), request.getEnd())) {
+			throw new NotBookedException("Вещь уже забронирована на эти даты");
+		}
+
 		Booking booking = bookingRepository.save(BookingMapper.mapToBooking(request, booker, item));
+		availabilityIndex.booked(booking);
 		log.info("Создано бронирование от пользователя с id = {}", userId);
 
 		return BookingMapper.mapToBookingDto(booking);
@@ -56,6 +85,7 @@ public class BookingServiceImpl implements BookingService {
 
 	@Override
 	@Transactional
+	@RetryOnConflict
 	public BookingDto approveBooking(Long bookingId, Long userId, Boolean approved) {
 		log.info("Подтверждение или отклонение запроса на бронирование с id = {} владельца с id = {}",
 				bookingId, userId);
@@ -74,6 +104,7 @@ public class BookingServiceImpl implements BookingService {
 			booking.setStatus(Status.APPROVED);
 		} else {
 			booking.setStatus(Status.REJECTED);
+			availabilityIndex.released(booking);
 		}
 
 		Booking updatedBooking = bookingRepository.save(booking);
@@ -82,10 +113,70 @@ public class BookingServiceImpl implements BookingService {
 		return BookingMapper.mapToBookingDto(updatedBooking);
 	}
 
+	/**
+	 * Подтверждение или отклонение пачки бронирований: владелец и статусы читаются одним запросом с блокировкой строк,
+	 * новый статус записывается одним UPDATE. Пока транзакция не завершена, параллельное решение тех же бронирований
+	 * ждёт её, поэтому итог по каждому id точен. Ошибка по отдельному бронированию не прерывает остальные,
+	 * а возвращается в его итоге.
+	 */
+	@Override
+	@Transactional
+	public List<BookingApprovalDto> approveBookings(Long userId, List<Long> bookingIds, Boolean approved) {
+		log.info("Массовое подтверждение {} бронирований владельцем с id = {}",
+				bookingIds == null ? 0 : bookingIds.size(), userId);
+		userService.getReference(userId);
+		if (bookingIds == null || bookingIds.isEmpty()) {
+			throw new ValidationException("Список бронирований не может быть пустым");
+		}
+
+		List<Long> ids = bookingIds.stream().distinct().toList();
+		if (ids.size() > MAX_BULK_APPROVAL) {
+			throw new ValidationException("За один запрос можно подтвердить не более " + MAX_BULK_APPROVAL +
+					" бронирований");
+		}
+
+		Status decision = approved ? Status.APPROVED : Status.REJECTED;
+		Map<Long, BookingApprovalState> states = bookingRepository.findApprovalStatesForUpdate(ids).stream()
+				.collect(Collectors.toMap(BookingApprovalState::getId, Function.identity()));
+		Set<Long> ownedItemIds = states.isEmpty() ? Set.of() : itemRepository.findIdsByIdInAndUserId(
+				states.values().stream().map(BookingApprovalState::getItemId).collect(Collectors.toSet()), userId);
+		List<Long> waiting = ids.stream()
+				.filter(states::containsKey)
+				.filter(id -> ownedItemIds.contains(states.get(id).getItemId()))
+				.filter(id -> states.get(id).getStatus() == Status.WAITING)
+				.toList();
+
+		if (!waiting.isEmpty()) {
+			bookingRepository.decideWaiting(waiting, decision);
+		}
+		Set<Long> decided = new HashSet<>(waiting);
+
+		List<BookingApprovalDto> outcomes = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			BookingApprovalState state = states.get(id);
+			if (state == null) {
+				outcomes.add(new BookingApprovalDto(id, null, "Бронирование с id = " + id + " не найдено"));
+			} else if (!ownedItemIds.contains(state.getItemId())) {
+				outcomes.add(new BookingApprovalDto(id, null, "Только владелец вещи может подтверждать бронирование"));
+			} else if (!decided.contains(id)) {
+				outcomes.add(new BookingApprovalDto(id, null, "Бронирование подтверждено или отклонено"));
+			} else {
+				if (decision == Status.REJECTED) {
+					availabilityIndex.released(state.getItemId(), id);
+				}
+				outcomes.add(new BookingApprovalDto(id, decision, null));
+			}
+		}
+		log.info("Массовое подтверждение владельцем с id = {} завершено: изменено {} из {} бронирований",
+				userId, decided.size(), ids.size());
+
+		return outcomes;
+	}
+
 	@Override
 	public BookingDto findBookingById(Long bookingId, Long userId) {
 		log.info("Получение бронирования c id = {} от пользователя с id = {}", bookingId, userId);
-		User user = findUserById(userId);
+		User user = userService.getReference(userId);
 		Booking booking = findBookingById(bookingId);
 
 		if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getUser().getId().equals(userId)) {
@@ -97,49 +188,132 @@ public class BookingServiceImpl implements BookingService {
 	}
 
 	@Override
-	public List<BookingDto> findAllByBooker(Long userId, String state) {
-		log.info("Получение списка бронирований со статусом {} пользователя с id = {}", state, userId);
+	public List<BookingDto> findAllByBooker(Long userId, String state, Integer from, Integer size, Long after) {
+		log.info("Получение списка бронирований со статусом {} пользователя с id = {}, from = {}, size = {}, after = {}",
+				state, userId, from, size, after);
 		State currentState = State.valueOf(state);
-		findUserById(userId);
-
-		List<Booking> bookings = switch (currentState) {
-			case ALL -> bookingRepository.findAllByBookerId(userId);
-			case CURRENT -> bookingRepository.findAllCurrentByBooker(userId);
-			case PAST -> bookingRepository.findPastByBooker(userId);
-			case FUTURE -> bookingRepository.findAllFutureByBooker(userId);
-			case WAITING -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING);
-			case REJECTED -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED);
-		};
+		userService.getReference(userId);
+		Pageable page = KeysetPage.of(from, size, after);
+
+		List<Booking> bookings = after == null
+				? findBookerFirstPage(userId, currentState, page)
+				: findBookerPage(userId, currentState, findBookerCursor(userId, after), page);
 		log.info("Найдено {} бронирований пользователя с id = {}", bookings.size(), userId);
 
 		return bookings.stream()
 				.map(BookingMapper::mapToBookingDto)
-				.sorted(Comparator.comparing(BookingDto::getStart))
 				.toList();
 	}
 
 	@Override
-	public List<BookingDto> findAllByOwner(Long userId, String state) {
-		log.info("Получение списка бронирований со статусом {} владельца вещи с id = {}", state, userId);
+	public List<BookingDto> findAllByOwner(Long userId, String state, Integer from, Integer size, Long after) {
+		log.info("Получение списка бронирований со статусом {} владельца вещи с id = {}, from = {}, size = {}, " +
+				"after = {}", state, userId, from, size, after);
 		State currentState = State.valueOf(state);
-		findUserById(userId);
-
-		List<Booking> bookings = switch (currentState) {
-			case ALL -> bookingRepository.findAllByOwner(userId);
-			case CURRENT -> bookingRepository.findAllCurrentByOwner(userId);
-			case PAST -> bookingRepository.findAllPastBookingByOwnerId(userId);
-			case FUTURE -> bookingRepository.findAllFutureBookingByOwnerId(userId);
-			case WAITING -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.WAITING);
-			case REJECTED -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.REJECTED);
-		};
+		userService.getReference(userId);
+		Pageable page = KeysetPage.of(from, size, after);
+
+		List<Booking> bookings = after == null
+				? findOwnerFirstPage(userId, currentState, page)
+				: findOwnerPage(userId, currentState, findOwnerCursor(userId, after), page);
 		log.info("Найдено {} бронирований владельца вещи с id = {}", bookings.size(), userId);
 
 		return bookings.stream()
 				.map(BookingMapper::mapToBookingDto)
-				.sorted(Comparator.comparing(BookingDto::getStart))
 				.toList();
 	}
 
+	@Override
+	public void checkOwnerListing(Long userId, String state, Long after) {
+		State.valueOf(state);
+		userService.getReference(userId);
+		if (after != null) {
+			findOwnerCursor(userId, after);
+		}
+	}
+
+	/**
+	 * Бронирования владельца читаются страницами по STREAM_CHUNK_SIZE по тому же курсору (start, id),
+	 * что и в постраничной выдаче. Каждая страница — отдельный короткий запрос, поэтому медленный клиент
+	 * не держит ни транзакцию, ни курсор БД, а контекст персистентности очищается после каждой страницы.
+	 */
+	@Override
+	public void streamAllByOwner(Long userId, String state, Long after, Consumer<? super BookingDto> sink) {
+		log.info("Потоковая выдача бронирований со статусом {} владельца вещи с id = {}, after = {}",
+				state, userId, after);
+		State currentState = State.valueOf(state);
+		userService.getReference(userId);
+		Pageable chunk = PageRequest.of(0, STREAM_CHUNK_SIZE);
+
+		List<Booking> bookings = after == null
+				? findOwnerFirstPage(userId, currentState, chunk)
+				: findOwnerPage(userId, currentState, findOwnerCursor(userId, after), chunk);
+		int streamed = 0;
+		while (true) {
+			bookings.stream().map(BookingMapper::mapToBookingDto).forEach(sink);
+			streamed += bookings.size();
+			entityManager.clear();
+			if (bookings.size() < STREAM_CHUNK_SIZE) {
+				break;
+			}
+			bookings = findOwnerPage(userId, currentState, bookings.getLast(), chunk);
+		}
+		log.info("Передано {} бронирований владельца вещи с id = {}", streamed, userId);
+	}
+
+	private List<Booking> findBookerFirstPage(Long userId, State state, Pageable page) {
+		return switch (state) {
+			case ALL -> bookingRepository.findAllByBookerId(userId, page);
+			case CURRENT -> bookingRepository.findAllCurrentByBooker(userId, page);
+			case PAST -> bookingRepository.findPastByBooker(userId, page);
+			case FUTURE -> bookingRepository.findAllFutureByBooker(userId, page);
+			case WAITING -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING, page);
+			case REJECTED -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED, page);
+		};
+	}
+
+	// Курсор (start, id) — последнее полученное клиентом бронирование
+	private List<Booking> findBookerPage(Long userId, State state, Booking cursor, Pageable page) {
+		LocalDateTime afterStart = cursor.getStart();
+		Long afterId = cursor.getId();
+		return switch (state) {
+			case ALL -> bookingRepository.findAllByBookerId(userId, afterStart, afterId, page);
+			case CURRENT -> bookingRepository.findAllCurrentByBooker(userId, afterStart, afterId, page);
+			case PAST -> bookingRepository.findPastByBooker(userId, afterStart, afterId, page);
+			case FUTURE -> bookingRepository.findAllFutureByBooker(userId, afterStart, afterId, page);
+			case WAITING -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING,
+					afterStart, afterId, page);
+			case REJECTED -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED,
+					afterStart, afterId, page);
+		};
+	}
+
+	private List<Booking> findOwnerFirstPage(Long userId, State state, Pageable page) {
+		return switch (state) {
+			case ALL -> bookingRepository.findAllByOwner(userId, page);
+			case CURRENT -> bookingRepository.findAllCurrentByOwner(userId, page);
+			case PAST -> bookingRepository.findAllPastBookingByOwnerId(userId, page);
+			case FUTURE -> bookingRepository.findAllFutureBookingByOwnerId(userId, page);
+			case WAITING -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.WAITING, page);
+			case REJECTED -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.REJECTED, page);
+		};
+	}
+
+	private List<Booking> findOwnerPage(Long userId, State state, Booking cursor, Pageable page) {
+		LocalDateTime afterStart = cursor.getStart();
+		Long afterId = cursor.getId();
+		return switch (state) {
+			case ALL -> bookingRepository.findAllByOwner(userId, afterStart, afterId, page);
+			case CURRENT -> bookingRepository.findAllCurrentByOwner(userId, afterStart, afterId, page);
+			case PAST -> bookingRepository.findAllPastBookingByOwnerId(userId, afterStart, afterId, page);
+			case FUTURE -> bookingRepository.findAllFutureBookingByOwnerId(userId, afterStart, afterId, page);
+			case WAITING -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.WAITING,
+					afterStart, afterId, page);
+			case REJECTED -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.REJECTED,
+					afterStart, afterId, page);
+		};
+	}
+
 	@Override
 	@Transactional
 	public BookingDto update(Long userId, UpdateBookingRequest request) {
@@ -149,7 +323,7 @@ public class BookingServiceImpl implements BookingService {
 			throw new ValidationException("Должен быть указан id бронирования");
 		}
 
-		User owner = findUserById(userId);
+		User owner = userService.getReference(userId);
 		Booking findBooking = findBookingById(request.getId());
 
 		if (!findBooking.getBooker().getId().equals(userId) && !owner.getId().equals(userId)) {
@@ -157,7 +331,13 @@ public class BookingServiceImpl implements BookingService {
 		}
 
 		Booking updatedBooking = BookingMapper.updateBooking(findBooking, request);
+		if (ItemAvailabilityIndex.BLOCKING_STATUSES.contains(updatedBooking.getStatus())) {
+			Long itemId = updatedBooking.getItem().getId();
+			itemRepository.findByIdForUpdate(itemId);
+			checkPeriodIsFree(itemId, updatedBooking.getStart(), updatedBooking.getEnd(), updatedBooking.getId());
+		}
 		updatedBooking = bookingRepository.save(updatedBooking);
+		availabilityIndex.invalidate(updatedBooking.getItem().getId());
 
 		log.debug("Обновлено бронирование от пользователя с id = {}", userId);
 
@@ -171,11 +351,27 @@ public class BookingServiceImpl implements BookingService {
 		Booking booking = findBookingById(bookingId);
 		log.debug("Удалено бронирование с id = {}", bookingId);
 		bookingRepository.delete(booking);
+		availabilityIndex.released(booking);
+	}
+
+	// Вызывается под блокировкой строки вещи; само бронирование исключается из проверки своего нового периода
+	private void checkPeriodIsFree(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+		if (overlapCheck.exists(itemId, start, end, excludedBookingId)) {
+			throw new NotBookedException("Вещь уже забронирована на эти даты");
+		}
+	}
+
+	// Чужое и несуществующее бронирование в курсоре неразличимы: иначе по ответу можно узнать, есть ли бронирование
+	private Booking findBookerCursor(Long userId, Long after) {
+		return bookingRepository.findById(after)
+				.filter(booking -> booking.getBooker().getId().equals(userId))
+				.orElseThrow(() -> new ValidationException("Курсор after не относится к бронированиям пользователя"));
 	}
 
-	private User findUserById(Long userId) {
-		return userRepository.findById(userId)
-				.orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
+	private Booking findOwnerCursor(Long userId, Long after) {
+		return bookingRepository.findById(after)
+				.filter(booking -> booking.getItem().getUser().getId().equals(userId))
+				.orElseThrow(() -> new ValidationException("Курсор after не относится к бронированиям вещей владельца"));
 	}
 
 	private Booking findBookingById(Long bookingId) {
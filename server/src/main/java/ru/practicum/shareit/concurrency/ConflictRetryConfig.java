@@ -0,0 +1,13 @@
+package ru.practicum.shareit.concurrency;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Перехватчик повторов стоит снаружи транзакционного, иначе повтор шёл бы внутри уже откатываемой транзакции.
+ */
+@Configuration
+@EnableRetry(order = Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetryConfig {
+}
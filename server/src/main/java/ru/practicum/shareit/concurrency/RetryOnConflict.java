@@ -0,0 +1,26 @@
+package ru.practicum.shareit.concurrency;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Повтор операции чтение-проверка-запись, если сущность изменили параллельно (не совпала @Version).
+ * Каждая попытка выполняется в новой транзакции и заново читает сущность, поэтому проверки состояния
+ * видят результат конкурирующей записи. После исчерпания попыток исключение уходит в ErrorHandler (409).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+		maxAttemptsExpression = "${shareit.retry.conflict.max-attempts:3}",
+		backoff = @Backoff(delayExpression = "${shareit.retry.conflict.delay:20}",
+				multiplierExpression = "${shareit.retry.conflict.multiplier:2}", random = true))
+public @interface RetryOnConflict {
+}
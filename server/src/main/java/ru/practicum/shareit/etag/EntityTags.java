@@ -0,0 +1,39 @@
+package ru.practicum.shareit.etag;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Сильные ETag ответов, вычисляемые из версий входящих в ответ сущностей (см. versionOf в мапперах).
+ * Для ответа с ETag Spring MVC сам сверяет If-None-Match и отвечает 304 без тела.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class EntityTags {
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	// 64-битный FNV-1a от строкового представления составляющих
+	public static String of(Object... parts) {
+		long hash = FNV_OFFSET_BASIS;
+		for (Object part : parts) {
+			for (byte b : String.valueOf(part).getBytes(StandardCharsets.UTF_8)) {
+				hash ^= b & 0xff;
+				hash *= FNV_PRIME;
+			}
+			// Разделитель, чтобы ("ab", "c") и ("a", "bc") давали разные значения
+			hash ^= 0x1f;
+			hash *= FNV_PRIME;
+		}
+
+		return "\"" + Long.toHexString(hash) + "\"";
+	}
+
+	public static <T> ResponseEntity<T> ok(String entityTag, T body) {
+		return ResponseEntity.ok()
+				.eTag(entityTag)
+				.body(body);
+	}
+}
@@ -2,7 +2,9 @@ package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -25,6 +27,13 @@ public class ErrorHandler {
 		return new ErrorResponse(e.getMessage());
 	}
 
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+		log.error("Ошибка: {}", e.getMessage());
+		return new ErrorResponse("Данные были изменены другим запросом, повторите операцию");
+	}
+
 	@ExceptionHandler(NotOwnerException.class)
 	@ResponseStatus(HttpStatus.FORBIDDEN)
 	public ErrorResponse handleNotOwnerException(final NotOwnerException e) {
@@ -53,6 +62,13 @@ public class ErrorHandler {
 		return new ErrorResponse(e.getMessage());
 	}
 
+	@ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+	@ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+	public ErrorResponse handleHttpMediaTypeNotSupportedException(final HttpMediaTypeNotSupportedException e) {
+		log.error(e.getMessage());
+		return new ErrorResponse("Тип содержимого " + e.getContentType() + " не поддерживается");
+	}
+
 	@ExceptionHandler(Throwable.class)
 	@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
 	public ErrorResponse handleThrowable(final Throwable e) {
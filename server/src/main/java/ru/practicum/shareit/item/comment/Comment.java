@@ -37,4 +37,7 @@ public class Comment {
 
 	@Column(name = "created")
 	LocalDateTime created;
+
+	@Version
+	long version;
 }
\ No newline at end of file
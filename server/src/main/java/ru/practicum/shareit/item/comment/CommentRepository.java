@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -7,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+	@EntityGraph(attributePaths = {"author"})
 	List<Comment> findAllByItemId(Long itemId);
 
 	@Query("select c " +
@@ -1,18 +1,33 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CreateCommentRequest;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.ItemDetailsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.importing.ItemImportService;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.streaming.StreamingResponses;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -21,10 +36,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
 	private final ItemService itemService;
+	private final ItemImportService itemImportService;
+	private final ObjectMapper objectMapper;
 	private final String id = "/{item-id}";
 	private final String search = "/search";
 	private final String comment = "/comment";
 	private final String itemComment = id + comment;
+	private final String itemAvailability = id + "/availability";
+	private final String itemImport = "/import";
 
 	private final String headerUserId = "X-Sharer-User-Id";
 	private final String pvItemId = "item-id";
@@ -40,6 +59,22 @@ public class ItemController {
 		return createdItem;
 	}
 
+	/**
+	 * Массовое создание вещей из тела NDJSON или CSV; в ответе число сохранённых вещей и отчёт об отклонённых строках.
+	 */
+	@PostMapping(value = itemImport, consumes = {MediaType.APPLICATION_NDJSON_VALUE, ItemImportFormat.CSV_VALUE})
+	public ItemImportResultDto importItems(@RequestHeader(headerUserId) Long ownerId,
+	                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+	                                       InputStream body) {
+		log.info("Запрос на импорт вещей ({}) от пользователя с id = {}", contentType, ownerId);
+		ItemImportResultDto result = itemImportService.importItems(ownerId, ItemImportFormat.of(contentType), body,
+				contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8);
+		log.info("Импорт вещей пользователя с id = {} завершён: сохранено {}, отклонено {}", ownerId,
+				result.getImported(), result.getRejected());
+
+		return result;
+	}
+
 	@PatchMapping(id)
 	@ResponseStatus(HttpStatus.OK)
 	public ItemDto update(@PathVariable("item-id") Long itemId,
@@ -54,12 +89,12 @@ public class ItemController {
 
 	@GetMapping(id)
 	@ResponseStatus(HttpStatus.OK)
-	public ItemDetailsDto findById(@PathVariable("item-id") Long itemId,
-	                               @RequestHeader("X-Sharer-User-Id") Long userId) {
+	public ResponseEntity<ItemDetailsDto> findById(@PathVariable("item-id") Long itemId,
+	                                               @RequestHeader("X-Sharer-User-Id") Long userId) {
 		log.info("Запрос на поиск вещи по id = : {} от пользователя с id = {}", itemId, userId);
 		ItemDetailsDto foundItem = itemService.findItemById(userId, itemId);
 		log.info("Найдена вещь с id = {}: {}", itemId, foundItem);
-		return foundItem;
+		return EntityTags.ok(EntityTags.of(ItemMapper.versionOf(foundItem)), foundItem);
 	}
 
 	@DeleteMapping(id)
@@ -73,23 +108,52 @@ public class ItemController {
 
 	@GetMapping
 	@ResponseStatus(HttpStatus.OK)
-	public List<ItemDetailsDto> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+	public ResponseEntity<List<ItemDetailsDto>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
 		log.info("Запрос на все вещи от владельца с id = {}", ownerId);
 		List<ItemDetailsDto> allItems = itemService.findAll(ownerId);
 		log.info("Список вещей владельца с id = {}: {}", ownerId, allItems);
 
-		return allItems;
+		return EntityTags.ok(EntityTags.of(allItems.stream().map(ItemMapper::versionOf).toList()), allItems);
+	}
+
+	/**
+	 * Те же вещи владельца в формате NDJSON: по объекту на строку, без накопления всего списка в памяти.
+	 */
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllByOwner(@RequestHeader(headerUserId) Long ownerId) {
+		log.info("Запрос на потоковую выдачу вещей владельца с id = {}", ownerId);
+		itemService.checkOwnerListing(ownerId);
+
+		return StreamingResponses.ndjson(objectMapper, sink -> itemService.streamAll(ownerId, sink));
 	}
 
 	@GetMapping(search)
 	@ResponseStatus(HttpStatus.OK)
-	public List<ItemDto> findItemsByText(@RequestHeader(headerUserId) Long ownerId,
-	                                     @RequestParam(name = "text", defaultValue = "") String text) {
-		log.info("Запрос на поиск вещей по тексту: {}", text);
-		List<ItemDto> allItems = itemService.findItemsByBooker(ownerId, text);
+	public ResponseEntity<List<ItemDto>> findItemsByText(@RequestHeader(headerUserId) Long ownerId,
+	                                                     @RequestParam(name = "text", defaultValue = "") String text,
+	                                                     @RequestParam(name = "from", defaultValue = "0") Integer from,
+	                                                     @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		log.info("Запрос на поиск вещей по тексту: {}, from = {}, size = {}", text, from, size);
+		List<ItemDto> allItems = itemService.findItemsByBooker(ownerId, text, from, size);
 		log.info("Список вещей: {}", allItems);
 
-		return allItems;
+		return EntityTags.ok(EntityTags.of(allItems.stream().map(ItemMapper::versionOf).toList()), allItems);
+	}
+
+	/**
+	 * Периоды занятости вещи в окне [from, to) — JSON-массив, который пишется по мере чтения бронирований из БД.
+	 */
+	@GetMapping(itemAvailability)
+	public ResponseEntity<StreamingResponseBody> findBusyIntervals(
+			@PathVariable("item-id") Long itemId,
+			@RequestHeader(headerUserId) Long userId,
+			@RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		log.info("Запрос занятости вещи с id = {} с {} по {} от пользователя с id = {}", itemId, from, to, userId);
+		itemService.checkAvailabilityWindow(userId, itemId, from, to);
+
+		return StreamingResponses.jsonArray(objectMapper,
+				sink -> itemService.streamBusyIntervals(itemId, from, to, sink));
 	}
 
 	@PostMapping(itemComment)
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период [start, end), в который вещь занята активными бронированиями.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BusyIntervalDto {
+	LocalDateTime start;
+
+	LocalDateTime end;
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -36,4 +37,7 @@ public class ItemDetailsDto {
 
 	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
 	Long requestId;
+
+	@JsonIgnore
+	Long version;
 }
\ No newline at end of file
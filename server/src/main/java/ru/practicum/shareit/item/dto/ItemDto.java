@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -26,4 +27,7 @@ public class ItemDto {
 
 	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
 	Long requestId;
+
+	@JsonIgnore
+	Long version;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Строки импорта [fromLine, toLine], которые не были сохранены, и причина. Для ошибки в одной строке
+ * границы совпадают, для несохранённой пачки охватывают всю пачку.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemImportErrorDto {
+	long fromLine;
+
+	long toLine;
+
+	String message;
+}
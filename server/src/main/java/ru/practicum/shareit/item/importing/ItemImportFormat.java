@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.importing;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+public enum ItemImportFormat {
+	// Объект CreateItemRequest на строку
+	NDJSON(MediaType.APPLICATION_NDJSON),
+	// Первая строка — заголовок с колонками name, description, available и необязательной requestId
+	CSV(MediaType.parseMediaType(ItemImportFormat.CSV_VALUE));
+
+	public static final String CSV_VALUE = "text/csv";
+
+	private final MediaType mediaType;
+
+	ItemImportFormat(MediaType mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public static ItemImportFormat of(MediaType contentType) {
+		for (ItemImportFormat format : values()) {
+			if (format.mediaType.isCompatibleWith(contentType)) {
+				return format;
+			}
+		}
+
+		throw new ValidationException("Импорт вещей в формате " + contentType + " не поддерживается");
+	}
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Построчное чтение импорта: в памяти только текущая строка. Пустые строки пропускаются,
+ * номера строк считаются по исходному тексту, включая заголовок CSV.
+ */
+class ItemImportReader {
+	private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "available");
+
+	private final ItemImportFormat format;
+	private final ObjectMapper objectMapper;
+	private final BufferedReader reader;
+	private final Map<String, Integer> columns = new HashMap<>();
+	private long lineNumber;
+
+	ItemImportReader(ItemImportFormat format, ObjectMapper objectMapper, BufferedReader reader) throws IOException {
+		this.format = format;
+		this.objectMapper = objectMapper;
+		this.reader = reader;
+		if (format == ItemImportFormat.CSV) {
+			readHeader();
+		}
+	}
+
+	// Следующая непустая строка или null в конце данных
+	Row next() throws IOException {
+		String line;
+		do {
+			line = reader.readLine();
+			if (line == null) {
+				return null;
+			}
+			lineNumber++;
+		} while (line.isBlank());
+
+		try {
+			return new Row(lineNumber, format == ItemImportFormat.CSV ? parseCsv(line) : parseJson(line), null);
+		} catch (IllegalArgumentException e) {
+			return new Row(lineNumber, null, e.getMessage());
+		}
+	}
+
+	private void readHeader() throws IOException {
+		String header = reader.readLine();
+		lineNumber++;
+		if (header == null) {
+			throw new ValidationException("Нет строки заголовка CSV");
+		}
+
+		List<String> names;
+		try {
+			names = splitCsv(header);
+		} catch (IllegalArgumentException e) {
+			throw new ValidationException("Некорректный заголовок CSV: " + e.getMessage());
+		}
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		for (String column : REQUIRED_COLUMNS) {
+			if (!columns.containsKey(column)) {
+				throw new ValidationException("В заголовке CSV нет колонки " + column);
+			}
+		}
+	}
+
+	private CreateItemRequest parseJson(String line) {
+		try {
+			return objectMapper.readValue(line, CreateItemRequest.class);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Некорректный JSON: " + e.getOriginalMessage());
+		}
+	}
+
+	private CreateItemRequest parseCsv(String line) {
+		List<String> values = splitCsv(line);
+		CreateItemRequest request = new CreateItemRequest();
+		request.setName(column(values, "name"));
+		request.setDescription(column(values, "description"));
+		request.setAvailable(parseAvailable(column(values, "available")));
+		request.setRequestId(parseRequestId(column(values, "requestid")));
+
+		return request;
+	}
+
+	private String column(List<String> values, String name) {
+		Integer index = columns.get(name);
+		if (index == null || index >= values.size()) {
+			return null;
+		}
+
+		return values.get(index);
+	}
+
+	private static Boolean parseAvailable(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+
+		return switch (value.trim().toLowerCase(Locale.ROOT)) {
+			case "true" -> Boolean.TRUE;
+			case "false" -> Boolean.FALSE;
+			default -> throw new IllegalArgumentException("Поле available должно быть true или false: " + value);
+		};
+	}
+
+	private static Long parseRequestId(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+
+		try {
+			return Long.valueOf(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Поле requestId должно быть числом: " + value);
+		}
+	}
+
+	// Поля через запятую; поле в кавычках может содержать запятые, кавычка внутри него удваивается
+	private static List<String> splitCsv(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Незакрытая кавычка в строке CSV");
+		}
+		values.add(value.toString());
+
+		return values;
+	}
+
+	// Прочитанная строка: запрос на создание вещи либо причина, по которой строку не удалось разобрать
+	record Row(long line, CreateItemRequest request, String error) {
+	}
+}
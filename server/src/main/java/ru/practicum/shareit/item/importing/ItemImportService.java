@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.persistence.InBatches;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Массовое создание вещей владельца из потока NDJSON или CSV. Строки читаются по одной и сохраняются
+ * пачками по batchSize, каждая пачка — в своей транзакции, поэтому память не зависит от размера импорта,
+ * а ошибка в одной пачке не отменяет уже сохранённые.
+ * <p>
+ * Строки, которые не удалось разобрать, не прошедшие проверку полей или ссылающиеся на несуществующий
+ * запрос, пропускаются и попадают в отчёт с номером строки. Если пачку не удалось записать в БД,
+ * в отчёт попадает диапазон её строк.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+	private final int batchSize;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final UserService userService;
+	private final RequestRepository requestRepository;
+	private final ItemImportWriter writer;
+
+	public ItemImportService(@Value("${shareit.items.import.batch-size:500}") int batchSize,
+	                         ObjectMapper objectMapper,
+	                         Validator validator,
+	                         UserService userService,
+	                         RequestRepository requestRepository,
+	                         ItemImportWriter writer) {
+		this.batchSize = batchSize;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.userService = userService;
+		this.requestRepository = requestRepository;
+		this.writer = writer;
+	}
+
+	public ItemImportResultDto importItems(Long ownerId, ItemImportFormat format, InputStream body, Charset charset) {
+		log.info("Импорт вещей в формате {} для владельца с id = {}", format, ownerId);
+		userService.getReference(ownerId);
+
+		List<ItemImportErrorDto> errors = new ArrayList<>();
+		List<ItemImportReader.Row> batch = new ArrayList<>(batchSize);
+		int received = 0;
+		int imported = 0;
+		try {
+			ItemImportReader reader =
+					new ItemImportReader(format, objectMapper, new BufferedReader(new InputStreamReader(body, charset)));
+			for (ItemImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+				received++;
+				String error = row.error() != null ? row.error() : validate(row.request());
+				if (error != null) {
+					errors.add(new ItemImportErrorDto(row.line(), row.line(), error));
+					continue;
+				}
+
+				batch.add(row);
+				if (batch.size() == batchSize) {
+					imported += save(ownerId, batch, errors);
+					batch.clear();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		imported += save(ownerId, batch, errors);
+		log.info("Импортировано {} из {} вещей владельца с id = {}", imported, received, ownerId);
+
+		return new ItemImportResultDto(imported, received - imported, errors);
+	}
+
+	private String validate(CreateItemRequest request) {
+		Set<ConstraintViolation<CreateItemRequest>> violations = validator.validate(request);
+		if (violations.isEmpty()) {
+			return null;
+		}
+
+		return violations.stream()
+				.map(ConstraintViolation::getMessage)
+				.sorted()
+				.reduce((first, second) -> first + "; " + second)
+				.orElseThrow();
+	}
+
+	private int save(Long ownerId, List<ItemImportReader.Row> batch, List<ItemImportErrorDto> errors) {
+		Set<Long> requestIds = new HashSet<>(InBatches.query(
+				batch.stream().map(row -> row.request().getRequestId()).filter(Objects::nonNull).toList(),
+				requestRepository::findExistingIds));
+
+		List<CreateItemRequest> requests = new ArrayList<>(batch.size());
+		for (ItemImportReader.Row row : batch) {
+			Long requestId = row.request().getRequestId();
+			if (requestId != null && !requestIds.contains(requestId)) {
+				errors.add(new ItemImportErrorDto(row.line(), row.line(),
+						"Запрос с id = " + requestId + " не найден"));
+			} else {
+				requests.add(row.request());
+			}
+		}
+
+		if (requests.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			return writer.write(ownerId, requests);
+		} catch (DataAccessException e) {
+			log.warn("Пачка импорта вещей со строк {}–{} не сохранена", batch.getFirst().line(),
+					batch.getLast().line(), e);
+			errors.add(new ItemImportErrorDto(batch.getFirst().line(), batch.getLast().line(),
+					"Пачка не сохранена: " + e.getMostSpecificCause().getMessage()));
+			return 0;
+		}
+	}
+}
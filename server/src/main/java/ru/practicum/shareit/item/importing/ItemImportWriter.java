@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.importing;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+// Сохранение одной пачки импорта в отдельной транзакции
+@Component
+@RequiredArgsConstructor
+class ItemImportWriter {
+	private final ItemRepository itemRepository;
+	private final UserRepository userRepository;
+	private final ItemSearchEngine itemSearchEngine;
+	private final EntityManager entityManager;
+
+	@Transactional
+	public int write(Long ownerId, List<CreateItemRequest> requests) {
+		User owner = userRepository.getReferenceById(ownerId);
+		List<Item> items = itemRepository.saveAll(requests.stream()
+				.map(request -> ItemMapper.mapToItem(owner, request))
+				.toList());
+		// INSERT уходят пакетами hibernate.jdbc.batch_size; после записи вещи пачки контексту не нужны
+		itemRepository.flush();
+		items.forEach(itemSearchEngine::index);
+		entityManager.clear();
+
+		return items.size();
+	}
+}
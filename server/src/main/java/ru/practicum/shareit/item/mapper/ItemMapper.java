@@ -35,6 +35,7 @@ public class ItemMapper {
 		itemDto.setDescription(item.getDescription());
 		itemDto.setAvailable(item.getAvailable());
 		itemDto.setOwnerId(item.getUser().getId());
+		itemDto.setVersion(item.getVersion());
 		if (item.getRequestId() != null) {
 			itemDto.setRequestId(item.getRequestId());
 		}
@@ -65,6 +66,7 @@ public class ItemMapper {
 		dto.setDescription(item.getDescription());
 		dto.setAvailable(item.getAvailable());
 		dto.setOwnerId(item.getUser().getId());
+		dto.setVersion(item.getVersion());
 		dto.setComments(comments.stream().map(CommentMapper::mapToCommentDto).toList());
 		if (item.getRequestId() != null) {
 			dto.setRequestId(item.getRequestId());
@@ -83,6 +85,7 @@ public class ItemMapper {
 		dto.setDescription(item.getDescription());
 		dto.setAvailable(item.getAvailable());
 		dto.setOwnerId(item.getUser().getId());
+		dto.setVersion(item.getVersion());
 		lastBooking.ifPresent(dto::setLastBooking);
 		nextBooking.ifPresent(dto::setNextBooking);
 		dto.setComments(comments.stream().map(CommentMapper::mapToCommentDto).toList());
@@ -92,4 +95,14 @@ public class ItemMapper {
 
 		return dto;
 	}
-}
\ No newline at end of file
+
+	public static String versionOf(ItemDto dto) {
+		return "item/" + dto.getId() + "/" + dto.getVersion();
+	}
+
+	// Даты бронирований и отзывы не входят в версию вещи, поэтому учитываются по содержимому
+	public static String versionOf(ItemDetailsDto dto) {
+		return "item/" + dto.getId() + "/" + dto.getVersion() + "/" + dto.getLastBooking() + "/" + dto.getNextBooking()
+				+ "/" + dto.getComments();
+	}
+}
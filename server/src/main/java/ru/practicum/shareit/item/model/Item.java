@@ -15,8 +15,10 @@ import ru.practicum.shareit.user.model.User;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Table(name = "items")
 public class Item {
+	// Последовательность с шагом allocationSize: Hibernate выдаёт id из памяти и может группировать INSERT в пакеты
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+	@SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
 	Long id;
 
 	@Column(nullable = false)
@@ -35,4 +37,7 @@ public class Item {
 
 	@JoinColumn(name = "request_id")
 	Long requestId;
+
+	@Version
+	long version;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Вещь вместе с владельцем и датами последнего и ближайшего подтверждённого бронирования.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemWithBookingDates {
+	Item item;
+	LocalDateTime lastEnd;
+	LocalDateTime nextStart;
+}
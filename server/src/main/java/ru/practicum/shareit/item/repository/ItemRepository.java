@@ -1,20 +1,53 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemWithBookingDates;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 	List<Item> findAllByUserId(Long ownerId);
 
-	@Query("select i from Item i " +
-			"join i.user u " +
+	// Для потоковой выдачи: страница вещей владельца по возрастанию id после курсора, индекс (owner_id, id)
+	@Query("select i from Item as i where i.user.id = :ownerId and i.id > :afterId order by i.id")
+	List<Item> findAllByUserIdAfter(Long ownerId, Long afterId, Pageable page);
+
+	@Query("select i.id from Item as i where i.id in :itemIds and i.user.id = :ownerId")
+	Set<Long> findIdsByIdInAndUserId(Collection<Long> itemIds, Long ownerId);
+
+	// Блокировка строки вещи до конца транзакции: бронирования одной вещи создаются и меняются по очереди
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select i from Item as i where i.id = :itemId")
+	Optional<Item> findByIdForUpdate(Long itemId);
+
+	// Вещь, владелец и даты бронирований за один запрос
+	@Query("select new ru.practicum.shareit.item.model.ItemWithBookingDates(i, " +
+			"(select max(b.end) from Booking as b " +
+			"where b.item = i and b.status = :status and b.end < :currentTimeStamp), " +
+			"(select min(b.start) from Booking as b " +
+			"where b.item = i and b.status = :status and b.start > :currentTimeStamp)) " +
+			"from Item as i " +
+			"join fetch i.user " +
+			"where i.id = :itemId")
+	Optional<ItemWithBookingDates> findWithBookingDatesById(Long itemId, Status status, LocalDateTime currentTimeStamp);
+
+	// Поиск подстроки без учёта регистра; ILIKE по name/description обслуживается GIN-индексами pg_trgm
+	@Query(value = "select i.* from items as i " +
 			"where i.available = true " +
-			"and (lower(i.name) like lower(concat('%', :text, '%')) " +
-			"or lower(i.description) like lower(concat('%', :text, '%')))")
-	List<Item> findItemsByText(String text);
+			"and (i.name ilike :pattern escape '\\' or i.description ilike :pattern escape '\\') " +
+			"order by greatest(word_similarity(:text, i.name), word_similarity(:text, i.description)) desc, i.id " +
+			"limit :size offset :from", nativeQuery = true)
+	List<Item> searchAvailableByTrigram(String text, String pattern, int from, int size);
 
 	List<Item> findByRequestId(Long requestId);
 
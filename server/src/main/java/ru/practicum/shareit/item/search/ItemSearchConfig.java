@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Configuration
+public class ItemSearchConfig {
+
+	/**
+	 * На PostgreSQL по умолчанию ищет сама БД (pg_trgm). Индекс в памяти включается свойством
+	 * shareit.search.in-memory-index.enabled и используется всегда, когда в БД нет триграммных индексов.
+	 */
+	@Bean
+	public ItemSearchEngine itemSearchEngine(@Value("${spring.datasource.url}") String datasourceUrl,
+	                                         @Value("${shareit.search.in-memory-index.enabled:false}")
+	                                         boolean inMemoryIndexEnabled,
+	                                         ItemRepository itemRepository,
+	                                         MeterRegistry meterRegistry) {
+		if (!inMemoryIndexEnabled && DatabaseDriver.fromJdbcUrl(datasourceUrl) == DatabaseDriver.POSTGRESQL) {
+			return new PostgresItemSearchEngine(itemRepository);
+		}
+
+		return new TrigramIndexItemSearchEngine(itemRepository, meterRegistry);
+	}
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании.
+ * Результаты упорядочены по релевантности и ограничены страницей [from, from + size).
+ */
+public interface ItemSearchEngine {
+	List<Item> search(String text, int from, int size);
+
+	void index(Item item);
+
+	void remove(Long itemId);
+}
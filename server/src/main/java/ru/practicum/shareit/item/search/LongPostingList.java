@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный список id вещей на примитивах long: без упаковки в Long и без узлов коллекций.
+ * Не потокобезопасен, доступ синхронизирует владеющий индекс.
+ */
+class LongPostingList {
+	private static final int INITIAL_CAPACITY = 4;
+
+	private long[] ids;
+	private int size;
+
+	LongPostingList() {
+		this.ids = new long[INITIAL_CAPACITY];
+	}
+
+	private LongPostingList(long[] sortedIds, int size) {
+		this.ids = sortedIds;
+		this.size = size;
+	}
+
+	void add(long id) {
+		int position = Arrays.binarySearch(ids, 0, size, id);
+		if (position >= 0) {
+			return;
+		}
+
+		int insertAt = -position - 1;
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, size * 2);
+		}
+		System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+		ids[insertAt] = id;
+		size++;
+	}
+
+	void remove(long id) {
+		int position = Arrays.binarySearch(ids, 0, size, id);
+		if (position < 0) {
+			return;
+		}
+
+		System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+		size--;
+	}
+
+	boolean contains(long id) {
+		return Arrays.binarySearch(ids, 0, size, id) >= 0;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	long get(int index) {
+		return ids[index];
+	}
+
+	long memoryBytes() {
+		return 16L + 8L * ids.length;
+	}
+
+	/**
+	 * Накопитель для массовой загрузки: id дописываются в конец, сортировка выполняется один раз в {@link #build()}.
+	 */
+	static class Builder {
+		private long[] ids = new long[INITIAL_CAPACITY];
+		private int size;
+
+		void append(long id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		Builder merge(Builder other) {
+			for (int i = 0; i < other.size; i++) {
+				append(other.ids[i]);
+			}
+
+			return this;
+		}
+
+		LongPostingList build() {
+			long[] sorted = Arrays.copyOf(ids, Math.max(size, INITIAL_CAPACITY));
+			Arrays.sort(sorted, 0, size);
+
+			return new LongPostingList(sorted, size);
+		}
+	}
+}
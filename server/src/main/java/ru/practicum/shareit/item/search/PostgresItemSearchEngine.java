@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск средствами PostgreSQL: ILIKE по name/description обслуживается GIN-индексами pg_trgm,
+ * ранжирование — по word_similarity. Индексы поддерживает сама БД, поэтому index/remove ничего не делают.
+ */
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+	private final ItemRepository itemRepository;
+
+	@Override
+	public List<Item> search(String text, int from, int size) {
+		return itemRepository.searchAvailableByTrigram(text, "%" + escapeLike(text) + "%", from, size);
+	}
+
+	@Override
+	public void index(Item item) {
+	}
+
+	@Override
+	public void remove(Long itemId) {
+	}
+
+	private static String escapeLike(String text) {
+		return text.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_");
+	}
+}
@@ -0,0 +1,298 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Инвертированный индекс вещей в памяти приложения: триграмма -> отсортированный список id (long[]).
+ * Индекс хранит снимки доступных вещей, поэтому поиск обходится без обращений к БД.
+ * Кандидаты — пересечение списков по триграммам запроса, затем совпадение подстроки проверяется по тексту.
+ * <p>
+ * При старте индекс строится из {@link ItemRepository} параллельно, дальше обновляется из ItemServiceImpl.
+ * Изменения попадают в индекс после фиксации транзакции, поэтому откаченные изменения в него не попадают;
+ * запоздавший снимок вещи с меньшей версией не заменяет уже проиндексированный. Текст приводится к нижнему
+ * регистру без учёта локали JVM.
+ */
+@Slf4j
+public class TrigramIndexItemSearchEngine implements ItemSearchEngine {
+	private static final int GRAM_LENGTH = 3;
+	private static final int REBUILD_PAGE_SIZE = 1000;
+
+	private final ItemRepository itemRepository;
+	private final Timer rebuildTimer;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private Map<Long, IndexedItem> documents = new HashMap<>();
+	private Map<String, LongPostingList> postings = new HashMap<>();
+	// Изменения, пришедшие во время перестроения; применяются к новому индексу перед подменой
+	private List<Change> pendingChanges;
+
+	public TrigramIndexItemSearchEngine(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+		this.itemRepository = itemRepository;
+		this.rebuildTimer = Timer.builder("shareit.search.index.rebuild")
+				.description("Время перестроения поискового индекса вещей")
+				.register(meterRegistry);
+		Gauge.builder("shareit.search.index.items", this, engine -> engine.read(() -> engine.documents.size()))
+				.description("Количество вещей в поисковом индексе")
+				.register(meterRegistry);
+		Gauge.builder("shareit.search.index.memory", this, engine -> engine.read(engine::estimateMemoryBytes))
+				.description("Оценка объёма памяти, занятой поисковым индексом")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		log.info("Построение поискового индекса вещей");
+		Timer.Sample sample = Timer.start();
+		write(() -> pendingChanges = new ArrayList<>());
+
+		Map<Long, IndexedItem> builtDocuments = loadDocuments();
+		Map<String, LongPostingList> builtPostings = builtDocuments.values()
+				.parallelStream()
+				.collect(toPostings());
+
+		write(() -> {
+			documents = builtDocuments;
+			postings = builtPostings;
+			pendingChanges.forEach(this::applyUnderLock);
+			pendingChanges = null;
+		});
+		long nanos = sample.stop(rebuildTimer);
+		log.info("Поисковый индекс построен за {} мс, проиндексировано {} вещей",
+				nanos / 1_000_000, builtDocuments.size());
+	}
+
+	@Override
+	public List<Item> search(String text, int from, int size) {
+		String query = text.toLowerCase(Locale.ROOT);
+
+		return read(() -> findCandidates(query).stream()
+				.map(documents::get)
+				.filter(document -> document.matches(query))
+				.sorted(Comparator.comparingInt((IndexedItem document) -> document.rank(query))
+						.thenComparing(IndexedItem::id))
+				.skip(from)
+				.limit(size)
+				.map(IndexedItem::toItem)
+				.toList());
+	}
+
+	// Снимок вещи берётся после фиксации, когда версия уже увеличена при сбросе изменений в БД
+	@Override
+	public void index(Item item) {
+		afterCommit(() -> apply(new Change(item.getId(), item.getVersion(),
+				item.getAvailable() ? IndexedItem.of(item) : null)));
+	}
+
+	@Override
+	public void remove(Long itemId) {
+		afterCommit(() -> apply(new Change(itemId, null, null)));
+	}
+
+	private void apply(Change change) {
+		write(() -> {
+			applyUnderLock(change);
+			if (pendingChanges != null) {
+				pendingChanges.add(change);
+			}
+		});
+	}
+
+	private void applyUnderLock(Change change) {
+		IndexedItem current = documents.get(change.itemId());
+		if (current != null && change.version() != null && current.version() > change.version()) {
+			return;
+		}
+
+		IndexedItem previous = documents.remove(change.itemId());
+		if (previous != null) {
+			for (String gram : grams(previous.text())) {
+				LongPostingList ids = postings.get(gram);
+				if (ids != null) {
+					ids.remove(previous.id());
+					if (ids.isEmpty()) {
+						postings.remove(gram);
+					}
+				}
+			}
+		}
+
+		IndexedItem document = change.document();
+		if (document != null) {
+			documents.put(document.id(), document);
+			for (String gram : grams(document.text())) {
+				postings.computeIfAbsent(gram, key -> new LongPostingList()).add(document.id());
+			}
+		}
+	}
+
+	private Map<Long, IndexedItem> loadDocuments() {
+		Map<Long, IndexedItem> loaded = new HashMap<>();
+		Slice<Item> slice = itemRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+		while (true) {
+			slice.getContent().stream()
+					.filter(Item::getAvailable)
+					.map(IndexedItem::of)
+					.forEach(document -> loaded.put(document.id(), document));
+			if (!slice.hasNext()) {
+				return loaded;
+			}
+			slice = itemRepository.findAll(slice.nextPageable());
+		}
+	}
+
+	private static Collector<IndexedItem, Map<String, LongPostingList.Builder>, Map<String, LongPostingList>> toPostings() {
+		return Collector.of(
+				HashMap::new,
+				(builders, document) -> grams(document.text()).forEach(gram ->
+						builders.computeIfAbsent(gram, key -> new LongPostingList.Builder()).append(document.id())),
+				(left, right) -> {
+					right.forEach((gram, builder) -> left.merge(gram, builder, LongPostingList.Builder::merge));
+					return left;
+				},
+				builders -> {
+					Map<String, LongPostingList> result = new HashMap<>(builders.size() * 2);
+					builders.forEach((gram, builder) -> result.put(gram, builder.build()));
+					return result;
+				});
+	}
+
+	private Collection<Long> findCandidates(String query) {
+		if (query.length() < GRAM_LENGTH) {
+			return documents.keySet();
+		}
+
+		List<LongPostingList> lists = new ArrayList<>();
+		for (String gram : grams(query)) {
+			LongPostingList ids = postings.get(gram);
+			if (ids == null) {
+				return List.of();
+			}
+			lists.add(ids);
+		}
+		lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+		LongPostingList smallest = lists.getFirst();
+		List<LongPostingList> others = lists.subList(1, lists.size());
+		List<Long> candidates = new ArrayList<>();
+		for (int i = 0; i < smallest.size(); i++) {
+			long id = smallest.get(i);
+			if (others.stream().allMatch(ids -> ids.contains(id))) {
+				candidates.add(id);
+			}
+		}
+
+		return candidates;
+	}
+
+	private long estimateMemoryBytes() {
+		long bytes = 0;
+		for (Map.Entry<String, LongPostingList> entry : postings.entrySet()) {
+			bytes += 48 + 2L * entry.getKey().length() + entry.getValue().memoryBytes();
+		}
+		for (IndexedItem document : documents.values()) {
+			bytes += 96 + 4L * (document.name().length() + document.description().length());
+		}
+
+		return bytes;
+	}
+
+	private <T> T read(Supplier<T> action) {
+		lock.readLock().lock();
+		try {
+			return action.get();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private void write(Runnable action) {
+		lock.writeLock().lock();
+		try {
+			action.run();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM_LENGTH));
+		}
+
+		return grams;
+	}
+
+	// version == null — вещь удалена
+	private record Change(Long itemId, Long version, IndexedItem document) {
+	}
+
+	private record IndexedItem(Long id, String name, String description, Long ownerId, Long requestId, long version,
+	                           String searchName, String searchDescription) {
+		static IndexedItem of(Item item) {
+			return new IndexedItem(item.getId(), item.getName(), item.getDescription(),
+					item.getUser().getId(), item.getRequestId(), item.getVersion(),
+					item.getName().toLowerCase(Locale.ROOT), item.getDescription().toLowerCase(Locale.ROOT));
+		}
+
+		// Отдельная копия для вызывающего кода; владелец заполнен только идентификатором
+		Item toItem() {
+			User owner = new User();
+			owner.setId(ownerId);
+
+			return new Item(id, name, description, true, owner, requestId, version);
+		}
+
+		String text() {
+			return searchName + "\n" + searchDescription;
+		}
+
+		boolean matches(String query) {
+			return searchName.contains(query) || searchDescription.contains(query);
+		}
+
+		// Совпадение в названии важнее совпадения в описании, более раннее вхождение — важнее позднего
+		int rank(String query) {
+			int position = searchName.indexOf(query);
+			if (position >= 0) {
+				return position;
+			}
+
+			return searchName.length() + searchDescription.indexOf(query);
+		}
+	}
+}
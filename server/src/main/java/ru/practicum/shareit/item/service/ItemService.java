@@ -2,12 +2,15 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CreateCommentRequest;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.ItemDetailsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
 	ItemDto create(Long ownerId, CreateItemRequest request);
@@ -18,9 +21,18 @@ public interface ItemService {
 
 	ItemDetailsDto findItemById(Long ownerId, Long itemI);
 
-	List<ItemDto> findItemsByBooker(Long ownerId, String text);
+	List<ItemDto> findItemsByBooker(Long ownerId, String text, Integer from, Integer size);
 
 	List<ItemDetailsDto> findAll(Long ownerId);
 
 	CommentDto addComment(Long itemId, Long userId, CreateCommentRequest request);
+
+	void checkAvailabilityWindow(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
+
+	void streamBusyIntervals(Long itemId, LocalDateTime from, LocalDateTime to,
+	                         Consumer<? super BusyIntervalDto> sink);
+
+	void checkOwnerListing(Long ownerId);
+
+	void streamAll(Long ownerId, Consumer<? super ItemDetailsDto> sink);
 }
\ No newline at end of file
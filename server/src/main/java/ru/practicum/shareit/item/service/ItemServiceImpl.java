@@ -1,36 +1,51 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestMapping;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.availability.BusyIntervals;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.concurrency.RetryOnConflict;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.NotBookedException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.NotOwnerException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRepository;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CreateCommentRequest;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.ItemDetailsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemWithBookingDates;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.persistence.InBatches;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
@@ -40,11 +55,16 @@ import static java.util.stream.Collectors.toList;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+	private static final int STREAM_CHUNK_SIZE = 500;
+	private static final Long NO_ITEM_ID = 0L;
+
 	private final ItemRepository itemRepository;
-	private final UserRepository userRepository;
+	private final UserService userService;
 	private final BookingRepository bookingRepository;
 	private final CommentRepository commentRepository;
 	private final RequestRepository requestRepository;
+	private final ItemSearchEngine itemSearchEngine;
+	private final EntityManager entityManager;
 
 	@Override
 	@Transactional
@@ -72,9 +92,10 @@ public class ItemServiceImpl implements ItemService {
 					.orElseThrow(() -> new NotFoundException("Запрос с id = " + request.getRequestId() + " не найден"));
 		}
 
-		User foundUser = findUserById(ownerId);
+		User foundUser = userService.getReference(ownerId);
 		Item item = ItemMapper.mapToItem(foundUser, request);
 		Item createdItem = itemRepository.save(item);
+		itemSearchEngine.index(createdItem);
 		log.info("Создана вещь: {}", createdItem);
 
 		return ItemMapper.mapToItemDto(createdItem);
@@ -82,11 +103,12 @@ public class ItemServiceImpl implements ItemService {
 
 	@Override
 	@Transactional
+	@RetryOnConflict
 	public ItemDto update(Long itemId, UpdateItemRequest request, Long ownerId) {
 		log.info("Обновление вещи для пользователя с id = {}, запрос: {}", ownerId, request);
 		Item item = findItemById(itemId);
 
-		User foundUser = findUserById(ownerId);
+		User foundUser = userService.getReference(ownerId);
 		if (!item.getUser().getId().equals(ownerId)) {
 			throw new NotOwnerException("Редактировать данные вещи может только её владелец");
 		}
@@ -117,7 +139,9 @@ public class ItemServiceImpl implements ItemService {
 
 		log.info("Перед сохранением вещи: name {}, description {}, available {}",
 				item.getName(), item.getDescription(), item.getAvailable());
-		Item updatedItem = itemRepository.save(item);
+		// Версия увеличивается при flush: в индекс попадает уже новая, а конфликт версий виден до индексации
+		Item updatedItem = itemRepository.saveAndFlush(item);
+		itemSearchEngine.index(updatedItem);
 		log.info("После сохранения вещи: name {}, description {}, available {}",
 				updatedItem.getName(), updatedItem.getDescription(), updatedItem.getAvailable());
 
@@ -128,7 +152,7 @@ public class ItemServiceImpl implements ItemService {
 	@Transactional
 	public void delete(Long ownerId, Long itemId) {
 		log.info("Удаление вещи с id = {} от владельца {}", itemId, ownerId);
-		User foundUser = findUserById(ownerId);
+		User foundUser = userService.getReference(ownerId);
 		Item item = findItemById(itemId);
 
 		if (!foundUser.getId().equals(ownerId)) {
@@ -136,6 +160,7 @@ public class ItemServiceImpl implements ItemService {
 		}
 
 		itemRepository.deleteById(itemId);
+		itemSearchEngine.remove(itemId);
 		log.info("Удалена вещь c id = {}: {}", itemId, item);
 	}
 
@@ -143,25 +168,28 @@ public class ItemServiceImpl implements ItemService {
 	@Transactional(readOnly = true)
 	public ItemDetailsDto findItemById(Long ownerId, Long itemId) {
 		log.info("Поиск вещи по id = {}", itemId);
-		Item item = findItemById(itemId);
-		LocalDateTime now = LocalDateTime.now();
+		ItemWithBookingDates found = itemRepository
+				.findWithBookingDatesById(itemId, Status.APPROVED, LocalDateTime.now())
+				.orElseThrow(() -> new NotFoundException("Вещь с id = " + itemId + " не найдена"));
+		Item item = found.getItem();
+		List<Comment> comments = commentRepository.findAllByItemId(itemId);
+		log.info("Найдена вещь с id = {}", itemId);
 
 		if (item.getUser().getId().equals(ownerId)) {
-			return ItemMapper.mapToItemDetailsDto(findById(itemId),
-					commentRepository.findAllByItemId(itemId),
-					getLastBookingEndDate(itemId, now),
-					getNextBookingStartDate(itemId, now));
+			return ItemMapper.mapToItemDetailsDto(item,
+					comments,
+					Optional.ofNullable(found.getLastEnd()),
+					Optional.ofNullable(found.getNextStart()));
 		}
-		log.info("Найдена вещь с id = {}", itemId);
 
-		return ItemMapper.mapToItemDetailsDto(findById(itemId), commentRepository.findAllByItemId(itemId));
+		return ItemMapper.mapToItemDetailsDto(item, comments);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public List<ItemDetailsDto> findAll(Long ownerId) {
 		log.info("Получение списка вещей владельца с id = {}", ownerId);
-		findUserById(ownerId);
+		userService.getReference(ownerId);
 		List<Item> userItems = itemRepository.findAllByUserId(ownerId);
 
 		if (!userItems.isEmpty()) {
@@ -177,9 +205,22 @@ public class ItemServiceImpl implements ItemService {
 	}
 
 	@Override
-	public List<ItemDto> findItemsByBooker(Long ownerId, String text) {
-		log.info("Получение списка вещей по тексту: {}", text);
-		List<Item> items = itemRepository.findItemsByText(text);
+	@Transactional(readOnly = true)
+	public List<ItemDto> findItemsByBooker(Long ownerId, String text, Integer from, Integer size) {
+		log.info("Получение списка вещей по тексту: {}, from = {}, size = {}", text, from, size);
+		if (from < 0) {
+			throw new ValidationException("Индекс первого элемента не может быть отрицательным");
+		}
+
+		if (size <= 0) {
+			throw new ValidationException("Размер страницы должен быть положительным");
+		}
+
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+
+		List<Item> items = itemSearchEngine.search(text, from, size);
 		log.info("Найдено {} вещей по тексту: {}", items.size(), text);
 
 		return items.stream()
@@ -191,7 +232,7 @@ public class ItemServiceImpl implements ItemService {
 	@Transactional
 	public CommentDto addComment(Long itemId, Long userId, CreateCommentRequest request) {
 		log.info("Добавление комментария от пользователя с id = {} к вещи с id = {}", userId, itemId);
-		User author = findUserById(userId);
+		User author = userService.getReference(userId);
 		Item item = findItemById(itemId);
 
 		LocalDateTime current = LocalDateTime.now();
@@ -207,68 +248,86 @@ public class ItemServiceImpl implements ItemService {
 		return CommentMapper.mapToCommentDto(savedComment);
 	}
 
-	private Item findById(Long itemId) {
-		return itemRepository.findById(itemId)
-				.orElseThrow(() -> new NotFoundException(String.format("Вещь c ID %d не найдена", itemId)));
-	}
+	@Override
+	@Transactional(readOnly = true)
+	public void checkAvailabilityWindow(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+		userService.getReference(userId);
+		findItemById(itemId);
 
-	private User findUserById(Long userId) {
-		return userRepository.findById(userId)
-				.orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
+		if (!to.isAfter(from)) {
+			throw new ValidationException("Начало периода должно быть раньше его окончания");
+		}
 	}
 
-	private Item findItemById(Long itemId) {
-		return itemRepository.findById(itemId)
-				.orElseThrow(() -> new NotFoundException("Вещь с id = " + itemId + " не найдена"));
+	@Override
+	@Transactional(readOnly = true)
+	public void streamBusyIntervals(Long itemId, LocalDateTime from, LocalDateTime to,
+	                                Consumer<? super BusyIntervalDto> sink) {
+		log.info("Периоды занятости вещи с id = {} с {} по {}", itemId, from, to);
+		try (Stream<BookingInterval> intervals = bookingRepository.streamIntervalsInWindow(itemId,
+				ItemAvailabilityIndex.BLOCKING_STATUSES, from, to)) {
+			int merged = BusyIntervals.merge(intervals.iterator(), from, to,
+					(start, end) -> sink.accept(new BusyIntervalDto(start, end)));
+			log.info("Передано {} периодов занятости вещи с id = {}", merged, itemId);
+		}
 	}
 
-	private Optional<LocalDateTime> getLastBookingEndDate(Long itemId, LocalDateTime now) {
-		return bookingRepository.findLastBookingEndByItemId(itemId, Status.APPROVED, now)
-				.stream()
-				.max(Comparator.naturalOrder());
+	@Override
+	@Transactional(readOnly = true)
+	public void checkOwnerListing(Long ownerId) {
+		userService.getReference(ownerId);
 	}
 
-	private Optional<LocalDateTime> getNextBookingStartDate(Long itemId, LocalDateTime now) {
-		return bookingRepository.findNextBookingStartByItemId(itemId, Status.APPROVED, now)
-				.stream()
-				.min(Comparator.naturalOrder());
+	/**
+	 * Вещи читаются страницами по STREAM_CHUNK_SIZE по курсору id и дополняются датами бронирований и отзывами.
+	 * Каждая страница — отдельный короткий запрос: медленный клиент не держит ни транзакцию, ни соединение,
+	 * ни курсор БД, а контекст персистентности очищается после каждой страницы.
+	 */
+	@Override
+	public void streamAll(Long ownerId, Consumer<? super ItemDetailsDto> sink) {
+		log.info("Потоковая выдача вещей владельца с id = {}", ownerId);
+		userService.getReference(ownerId);
+		Pageable chunk = PageRequest.of(0, STREAM_CHUNK_SIZE);
+
+		int streamed = 0;
+		Long afterId = NO_ITEM_ID;
+		List<Item> items;
+		do {
+			items = itemRepository.findAllByUserIdAfter(ownerId, afterId, chunk);
+			if (!items.isEmpty()) {
+				fillItemData(items).forEach(sink);
+				streamed += items.size();
+				afterId = items.getLast().getId();
+			}
+			entityManager.clear();
+		} while (items.size() == STREAM_CHUNK_SIZE);
+		log.info("Передано {} вещей владельца с id = {}", streamed, ownerId);
 	}
 
+	private Item findItemById(Long itemId) {
+		return itemRepository.findById(itemId)
+				.orElseThrow(() -> new NotFoundException("Вещь с id = " + itemId + " не найдена"));
+	}
 
 	private List<ItemDetailsDto> fillItemData(List<Item> userItems) {
 		LocalDateTime now = LocalDateTime.now();
 		List<Long> itemIds = userItems.stream().map(Item::getId).toList();
 
-		Map<Item, LocalDateTime> lastItemBookingEndDate = bookingRepository
-				.findByItemInAndEndBefore(itemIds, Status.APPROVED, now)
+		Map<Long, ItemBookingDates> bookingDates = InBatches
+				.query(itemIds, ids -> bookingRepository.findBookingDatesByItemIds(ids, Status.APPROVED, now))
 				.stream()
-				.collect(Collectors.toMap(Booking::getItem, Booking::getEnd));
+				.collect(Collectors.toMap(ItemBookingDates::getItemId, Function.identity()));
 
-		Map<Item, LocalDateTime> nextItemBookingStartDate = bookingRepository
-				.findByItemInAndStartAfter(itemIds, Status.APPROVED, now)
-				.stream()
-				.collect(Collectors.toMap(Booking::getItem, Booking::getStart));
-
-		Map<Item, List<Comment>> itemsWithComments = commentRepository
-				.findByItemIn(itemIds)
+		Map<Item, List<Comment>> itemsWithComments = InBatches
+				.query(itemIds, commentRepository::findByItemIn)
 				.stream()
 				.collect(groupingBy(Comment::getItem, toList()));
 
 		List<ItemDetailsDto> itemsList = new ArrayList<>();
 		for (Item item : userItems) {
-			Optional<LocalDateTime> lastEndDate;
-			if (!lastItemBookingEndDate.isEmpty()) {
-				lastEndDate = Optional.of(lastItemBookingEndDate.get(item));
-			} else {
-				lastEndDate = Optional.empty();
-			}
-
-			Optional<LocalDateTime> nextStartDate;
-			if (!nextItemBookingStartDate.isEmpty()) {
-				nextStartDate = Optional.of(nextItemBookingStartDate.get(item));
-			} else {
-				nextStartDate = Optional.empty();
-			}
+			Optional<ItemBookingDates> dates = Optional.ofNullable(bookingDates.get(item.getId()));
+			Optional<LocalDateTime> lastEndDate = dates.map(ItemBookingDates::getLastEnd);
+			Optional<LocalDateTime> nextStartDate = dates.map(ItemBookingDates::getNextStart);
 
 			itemsList.add(ItemMapper.mapToItemDetailsDto(item,
 							itemsWithComments.getOrDefault(item, Collections.emptyList()),
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Запросы со списком IN по произвольному числу id: список режется на пачки фиксированного размера,
+ * результаты пачек склеиваются. Так запрос остаётся в пределах ограничений драйверов и планировщика
+ * на число параметров.
+ * <p>
+ * Пачки выполняются последовательно в потоке вызывающего: в других потоках запросы шли бы мимо его
+ * транзакции и контекста персистентности, а возвращённые сущности были бы отсоединёнными.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class InBatches {
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	public static <T, R> List<R> query(Collection<T> ids, Function<List<T>, List<R>> query) {
+		return query(ids, DEFAULT_BATCH_SIZE, query);
+	}
+
+	// Повторяющиеся id отбрасываются, иначе попавшие в разные пачки строки вернулись бы дважды
+	public static <T, R> List<R> query(Collection<T> ids, int batchSize, Function<List<T>, List<R>> query) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Размер пачки должен быть положительным");
+		}
+
+		List<T> distinctIds = ids.stream().distinct().toList();
+		if (distinctIds.size() <= batchSize) {
+			return distinctIds.isEmpty() ? List.of() : query.apply(distinctIds);
+		}
+
+		List<R> result = new ArrayList<>();
+		for (int from = 0; from < distinctIds.size(); from += batchSize) {
+			result.addAll(query.apply(distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size()))));
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Страница списка с курсором. Первая страница выбирается от начала списка по from и size, следующие —
+ * после курсора after (id последнего полученного клиентом элемента) без смещения.
+ * <p>
+ * from должен быть кратен size: номер страницы from / size округлялся бы вниз, и страница начиналась бы
+ * раньше from. Смещение и курсор вместе не задаются, иначе OFFSET отсчитывался бы уже от курсора.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetPage {
+
+	public static Pageable of(Integer from, Integer size, Long after) {
+		if (from == null || from < 0) {
+			throw new ValidationException("Индекс первого элемента не может быть отрицательным");
+		}
+
+		if (size == null || size <= 0) {
+			throw new ValidationException("Размер страницы должен быть положительным");
+		}
+
+		if (from % size != 0) {
+			throw new ValidationException("Индекс первого элемента должен быть кратен размеру страницы");
+		}
+
+		if (after != null && from > 0) {
+			throw new ValidationException("Индекс первого элемента и курсор after не задаются вместе");
+		}
+
+		return PageRequest.of(from / size, size);
+	}
+}
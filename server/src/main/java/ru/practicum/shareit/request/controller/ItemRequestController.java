@@ -3,10 +3,13 @@ package ru.practicum.shareit.request.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.request.dto.CreateRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.UpdateRequest;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
@@ -32,18 +35,24 @@ public class ItemRequestController {
 	}
 
 	@GetMapping(id)
-	public ItemRequestDto findItemRequest(@PathVariable(pvRequestId) Long requestId) {
-		return itemRequestService.findItemRequest(requestId);
+	public ResponseEntity<ItemRequestDto> findItemRequest(@PathVariable(pvRequestId) Long requestId) {
+		ItemRequestDto itemRequest = itemRequestService.findItemRequest(requestId);
+
+		return EntityTags.ok(EntityTags.of(ItemRequestMapper.versionOf(itemRequest)), itemRequest);
 	}
 
 	@GetMapping
-	public List<ItemRequestDto> findAllByRequestorId(@RequestHeader(headerUserId) Long requestorId) {
-		return itemRequestService.findAllByRequestorId(requestorId);
+	public ResponseEntity<List<ItemRequestDto>> findAllByRequestorId(@RequestHeader(headerUserId) Long requestorId) {
+		return withEntityTag(itemRequestService.findAllByRequestorId(requestorId));
 	}
 
 	@GetMapping(all)
-	public List<ItemRequestDto> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId) {
-		return itemRequestService.findAllOfAnotherRequestors(requestorId);
+	public ResponseEntity<List<ItemRequestDto>> findAllOfAnotherRequestors(
+			@RequestHeader(headerUserId) Long requestorId,
+			@RequestParam(name = "from", defaultValue = "0") Integer from,
+			@RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "after", required = false) Long after) {
+		return withEntityTag(itemRequestService.findAllOfAnotherRequestors(requestorId, from, size, after));
 	}
 
 	@PutMapping
@@ -56,4 +65,9 @@ public class ItemRequestController {
 	public void delete(@PathVariable(pvRequestId) Long requestId) {
 		itemRequestService.delete(requestId);
 	}
+
+	private ResponseEntity<List<ItemRequestDto>> withEntityTag(List<ItemRequestDto> itemRequests) {
+		return EntityTags.ok(EntityTags.of(itemRequests.stream().map(ItemRequestMapper::versionOf).toList()),
+				itemRequests);
+	}
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
@@ -25,4 +26,7 @@ public class ItemRequestDto {
 	LocalDateTime created;
 
 	List<ResponseDto> items;
+
+	@JsonIgnore
+	Long version;
 }
\ No newline at end of file
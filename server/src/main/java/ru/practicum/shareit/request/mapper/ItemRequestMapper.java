@@ -8,6 +8,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseDto;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -32,6 +33,7 @@ public class ItemRequestMapper {
 		dto.setDescription(itemRequest.getDescription());
 		dto.setRequestorId(itemRequest.getRequestor().getId());
 		dto.setCreated(itemRequest.getCreated());
+		dto.setVersion(itemRequest.getVersion());
 		dto.setItems(Collections.emptyList());
 
 		return dto;
@@ -43,6 +45,19 @@ public class ItemRequestMapper {
 		dto.setDescription(itemRequest.getDescription());
 		dto.setRequestorId(itemRequest.getRequestor().getId());
 		dto.setCreated(itemRequest.getCreated());
+		dto.setVersion(itemRequest.getVersion());
+		dto.setItems(items.stream().map(ItemRequestMapper::mapToResponseDto).toList());
+
+		return dto;
+	}
+
+	public static ItemRequestDto mapToItemRequestDto(ItemRequestSummary summary, List<Item> items) {
+		ItemRequestDto dto = new ItemRequestDto();
+		dto.setId(summary.getId());
+		dto.setDescription(summary.getDescription());
+		dto.setRequestorId(summary.getRequestorId());
+		dto.setCreated(summary.getCreated());
+		dto.setVersion(summary.getVersion());
 		dto.setItems(items.stream().map(ItemRequestMapper::mapToResponseDto).toList());
 
 		return dto;
@@ -62,4 +77,9 @@ public class ItemRequestMapper {
 
 		return itemRequest;
 	}
-}
\ No newline at end of file
+
+	// Ответы на запрос учитываются по содержимому: добавление вещи не меняет версию запроса
+	public static String versionOf(ItemRequestDto dto) {
+		return "request/" + dto.getId() + "/" + dto.getVersion() + "/" + dto.getItems();
+	}
+}
@@ -31,4 +31,7 @@ public class ItemRequest {
 
 	@Column(name = "created")
 	LocalDateTime created;
+
+	@Version
+	long version;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля запроса на вещь без сущности: автор представлен только id, прокси пользователя не создаётся.
+ */
+public interface ItemRequestSummary {
+	Long getId();
+
+	String getDescription();
+
+	Long getRequestorId();
+
+	LocalDateTime getCreated();
+
+	long getVersion();
+}
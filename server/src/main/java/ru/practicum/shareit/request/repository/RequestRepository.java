@@ -1,12 +1,34 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
 	List<ItemRequest> findByRequestorId(Long requestorId);
 
-	List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long requestorId);
+	@Query("select r.id from ItemRequest as r where r.id in :ids")
+	List<Long> findExistingIds(List<Long> ids);
+
+	// Чужие запросы от новых к старым: первая страница и страница после курсора (created, id)
+	@Query("select r.id as id, r.description as description, r.requestor.id as requestorId, " +
+			"r.created as created, r.version as version " +
+			"from ItemRequest as r " +
+			"where r.requestor.id <> :requestorId " +
+			"order by r.created desc, r.id desc")
+	List<ItemRequestSummary> findAllOfOtherRequestors(Long requestorId, Pageable page);
+
+	@Query("select r.id as id, r.description as description, r.requestor.id as requestorId, " +
+			"r.created as created, r.version as version " +
+			"from ItemRequest as r " +
+			"where r.requestor.id <> :requestorId " +
+			"and (r.created < :beforeCreated or (r.created = :beforeCreated and r.id < :beforeId)) " +
+			"order by r.created desc, r.id desc")
+	List<ItemRequestSummary> findAllOfOtherRequestors(Long requestorId, LocalDateTime beforeCreated, Long beforeId,
+	                                                  Pageable page);
 }
\ No newline at end of file
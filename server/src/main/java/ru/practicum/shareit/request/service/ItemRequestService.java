@@ -17,5 +17,5 @@ public interface ItemRequestService {
 
 	List<ItemRequestDto> findAllByRequestorId(Long requestorId);
 
-	List<ItemRequestDto> findAllOfAnotherRequestors(Long requestorId);
+	List<ItemRequestDto> findAllOfAnotherRequestors(Long requestorId, Integer from, Integer size, Long after);
 }
\ No newline at end of file
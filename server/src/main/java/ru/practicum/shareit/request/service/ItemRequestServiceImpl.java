@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -9,14 +10,17 @@ import ru.practicum.shareit.exception.NotOwnerException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.persistence.InBatches;
+import ru.practicum.shareit.persistence.KeysetPage;
 import ru.practicum.shareit.request.dto.CreateRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -28,8 +32,9 @@ import static java.util.stream.Collectors.toList;
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
+
 	private final RequestRepository repository;
-	private final UserRepository userRepository;
+	private final UserService userService;
 	private final ItemRepository itemRepository;
 
 	@Override
@@ -37,7 +42,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 	public ItemRequestDto create(Long userId, CreateRequest request) {
 		log.info("Создание запроса на вещь от пользователя с id = {}, запрос: {}", userId, request);
 
-		User findUser = findUserById(userId);
+		User findUser = userService.getReference(userId);
 
 		ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(request, findUser, LocalDateTime.now());
 		itemRequest = repository.save(itemRequest);
@@ -55,7 +60,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 			throw new ValidationException("ID запроса должен быть указан");
 		}
 
-		User findUser = findUserById(userId);
+		User findUser = userService.getReference(userId);
 		ItemRequest existingRequest = findRequestById(request.getId());
 
 		if (!existingRequest.getRequestor().getId().equals(userId)) {
@@ -98,7 +103,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 	public List<ItemRequestDto> findAllByRequestorId(Long requestorId) {
 		log.info("Поиск запросов на вещи от пользователя с id = {}", requestorId);
 
-		User findUser = findUserById(requestorId);
+		User findUser = userService.getReference(requestorId);
 
 		List<ItemRequest> requests = repository.findByRequestorId(requestorId);
 		log.info("Найдено запросов {} на вещи от пользователя с id = {}", requests.size(), requestorId);
@@ -111,18 +116,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<ItemRequestDto> findAllOfAnotherRequestors(Long requestorId) {
-		log.info("Поиск запросов на вещи от другого пользователя с id = {}", requestorId);
+	public List<ItemRequestDto> findAllOfAnotherRequestors(Long requestorId, Integer from, Integer size, Long after) {
+		log.info("Поиск запросов на вещи других пользователей для пользователя с id = {}, from = {}, size = {}, " +
+				"after = {}", requestorId, from, size, after);
+		Pageable page = KeysetPage.of(from, size, after);
+		List<ItemRequestSummary> requests;
+		if (after == null) {
+			requests = repository.findAllOfOtherRequestors(requestorId, page);
+		} else {
+			ItemRequest cursor = findRequestById(after);
+			requests = repository.findAllOfOtherRequestors(requestorId, cursor.getCreated(), cursor.getId(), page);
+		}
+		log.info("Найдено {} запросов на вещи других пользователей", requests.size());
 
-		return repository.findByRequestorIdNotOrderByCreatedDesc(requestorId)
-				.stream()
-				.map(ItemRequestMapper::mapToItemRequestDto)
-				.collect(toList());
-	}
+		Map<Long, List<Item>> requestItems = findAnswers(requests.stream().map(ItemRequestSummary::getId).toList());
 
-	private User findUserById(Long userId) {
-		return userRepository.findById(userId)
-				.orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
+		return requests.stream()
+				.map(request -> ItemRequestMapper.mapToItemRequestDto(request,
+						requestItems.getOrDefault(request.getId(), Collections.emptyList())))
+				.toList();
 	}
 
 	private ItemRequest findRequestById(Long itemRequestId) {
@@ -136,10 +148,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 				.map(ItemRequest::getId)
 				.toList();
 
-		Map<Long, List<Item>> requestItems = itemRepository
-				.findByRequestIdIn(requestIds)
-				.stream()
-				.collect(groupingBy(Item::getRequestId, toList()));
+		Map<Long, List<Item>> requestItems = findAnswers(requestIds);
 
 		List<ItemRequestDto> requestsList = new ArrayList<>();
 		for (ItemRequest request : requests) {
@@ -151,4 +160,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
 		return requestsList;
 	}
+
+	// Вещи, созданные в ответ на запросы
+	private Map<Long, List<Item>> findAnswers(List<Long> requestIds) {
+		return InBatches.query(requestIds, itemRepository::findByRequestIdIn)
+				.stream()
+				.collect(groupingBy(Item::getRequestId, toList()));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.util.List;
+
+/**
+ * Клиент потоковой выдачи присылает Accept: application/x-ndjson. Без этого конвертера ошибки проверок
+ * из {@link ru.practicum.shareit.exception.ErrorHandler} уходили бы с пустым телом: ErrorResponse пишется
+ * одной строкой JSON, что является корректным NDJSON. Остальные ответы в NDJSON не сериализуются.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class NdjsonErrorConfig implements WebMvcConfigurer {
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper) {
+			@Override
+			protected boolean supports(Class<?> clazz) {
+				return ErrorResponse.class.isAssignableFrom(clazz);
+			}
+		};
+		converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_NDJSON));
+		converters.add(converter);
+	}
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Ответы, которые пишутся по мере получения элементов от сервиса: producer вызывает переданный ему sink
+ * для каждого элемента. В памяти держится только буфер JsonGenerator, а не весь список.
+ * <p>
+ * Тело пишется уже после выхода из метода контроллера, поэтому проверки запроса (пользователь, параметры)
+ * нужно выполнить до построения ответа — иначе ошибка придёт после статуса 200.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StreamingResponses {
+
+	// JSON-массив элементов
+	public static ResponseEntity<StreamingResponseBody> jsonArray(ObjectMapper objectMapper,
+	                                                              Consumer<Consumer<Object>> producer) {
+		StreamingResponseBody body = out -> {
+			try (JsonGenerator generator = createGenerator(objectMapper, out)) {
+				generator.writeStartArray();
+				producer.accept(value -> write(generator, value, false));
+				generator.writeEndArray();
+			}
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+
+	// Newline-delimited JSON: по объекту на строку, клиент может обрабатывать элементы до конца ответа
+	public static ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper,
+	                                                           Consumer<Consumer<Object>> producer) {
+		StreamingResponseBody body = out -> {
+			try (JsonGenerator generator = createGenerator(objectMapper, out)) {
+				producer.accept(value -> write(generator, value, true));
+			}
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	private static JsonGenerator createGenerator(ObjectMapper objectMapper, OutputStream out) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+		// Поток ответа закрывает контейнер сервлетов
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		// Объекты верхнего уровня в NDJSON разделяются только переводом строки
+		generator.setRootValueSeparator(null);
+		return generator;
+	}
+
+	private static void write(JsonGenerator generator, Object value, boolean newLine) {
+		try {
+			generator.writeObject(value);
+			if (newLine) {
+				generator.writeRaw('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class UserCacheConfig {
+	public static final String USERS = "users";
+	// id существующих пользователей: проверка ссылок на пользователя без запроса к БД
+	public static final String USER_IDS = "userIds";
+
+	/**
+	 * Записи добавляются и удаляются только после фиксации транзакции, поэтому кэш не увидит
+	 * незафиксированные или откатившиеся изменения. Статистика попаданий публикуется как cache.gets.
+	 */
+	@Bean
+	public CacheManager cacheManager(@Value("${shareit.cache.users.spec:maximumSize=10000,expireAfterWrite=10m}")
+	                                 String usersSpec) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.setCaffeine(Caffeine.from(CaffeineSpec.parse(usersSpec)).recordStats());
+		cacheManager.setCacheNames(List.of(USERS, USER_IDS));
+
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+}
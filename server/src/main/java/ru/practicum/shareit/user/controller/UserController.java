@@ -4,10 +4,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
@@ -42,12 +45,12 @@ public class UserController {
 
 	@GetMapping("/{userId}")
 	@ResponseStatus(HttpStatus.OK)
-	public UserDto findById(@PathVariable("userId") Long userId) {
+	public ResponseEntity<UserDto> findById(@PathVariable("userId") Long userId) {
 		log.info("Запрос на поиск пользователя c id = {}", userId);
 		UserDto foundUser = userService.findById(userId);
 		log.info("Найден пользователь с id = {}: {}", userId, foundUser);
 
-		return foundUser;
+		return EntityTags.ok(EntityTags.of(UserMapper.versionOf(foundUser)), foundUser);
 	}
 
 	@DeleteMapping("/{userId}")
@@ -60,11 +63,11 @@ public class UserController {
 
 	@GetMapping
 	@ResponseStatus(HttpStatus.OK)
-	public List<UserDto> findAll() {
+	public ResponseEntity<List<UserDto>> findAll() {
 		log.info("Запрос на список пользователей");
 		List<UserDto> foundUser = userService.findAll();
 		log.info("Список пользователей {}", foundUser);
 
-		return foundUser;
+		return EntityTags.ok(EntityTags.of(foundUser.stream().map(UserMapper::versionOf).toList()), foundUser);
 	}
 }
\ No newline at end of file
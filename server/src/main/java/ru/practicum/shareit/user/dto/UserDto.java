@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -18,4 +19,7 @@ public class UserDto {
 	String email;
 
 	String name;
+
+	@JsonIgnore
+	Long version;
 }
\ No newline at end of file
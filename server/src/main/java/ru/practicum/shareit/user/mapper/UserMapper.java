@@ -20,6 +20,7 @@ public class UserMapper {
 		userResponse.setId(user.getId());
 		userResponse.setName(user.getName());
 		userResponse.setEmail(user.getEmail());
+		userResponse.setVersion(user.getVersion());
 
 		return userResponse;
 	}
@@ -35,4 +36,8 @@ public class UserMapper {
 
 		return user;
 	}
-}
\ No newline at end of file
+
+	public static String versionOf(UserDto dto) {
+		return "user/" + dto.getId() + "/" + dto.getVersion();
+	}
+}
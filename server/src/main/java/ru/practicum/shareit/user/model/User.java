@@ -23,4 +23,7 @@ public class User {
 
 	@Column(nullable = false)
 	String name;
+
+	@Version
+	long version;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
@@ -15,5 +16,8 @@ public interface UserService {
 
 	UserDto findById(Long userId);
 
+	// Ссылка на существующего пользователя для связей сущностей, без загрузки его строки
+	User getReference(Long userId);
+
 	List<UserDto> findAll();
 }
\ No newline at end of file
@@ -3,9 +3,15 @@ package ru.practicum.shareit.user.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.concurrency.RetryOnConflict;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserCacheConfig;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -20,6 +26,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 	private final UserRepository userRepository;
+	private final CacheManager cacheManager;
 
 	@Override
 	@Transactional
@@ -50,6 +57,8 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	@Transactional
+	@RetryOnConflict
+	@CacheEvict(cacheNames = UserCacheConfig.USERS, key = "#userId")
 	public UserDto update(Long userId, UpdateUserRequest request) {
 		if (userId == null) {
 			throw new IllegalArgumentException("id пользователя должен быть указан");
@@ -85,6 +94,7 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	@Transactional
+	@CacheEvict(cacheNames = {UserCacheConfig.USERS, UserCacheConfig.USER_IDS}, key = "#userId")
 	public void delete(Long userId) {
 		log.info("Удаление пользователя по id={}", userId);
 		userRepository.findById(userId)
@@ -94,6 +104,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Cacheable(cacheNames = UserCacheConfig.USERS, key = "#userId")
 	public UserDto findById(Long userId) {
 		log.info("Поиск пользователя по id = {}", userId);
 		User foundUser = userRepository.findById(userId)
@@ -103,6 +114,23 @@ public class UserServiceImpl implements UserService {
 		return UserMapper.mapToUserDto(foundUser);
 	}
 
+	/**
+	 * Пользователь из кэша существует; при промахе существование проверяется запросом по первичному ключу
+	 * без чтения строки, и id запоминается в кэше USER_IDS до удаления пользователя или истечения записи.
+	 * Сама сущность берётся ссылкой без запроса к БД.
+	 */
+	@Override
+	public User getReference(Long userId) {
+		if (!isCached(userId)) {
+			if (!userRepository.existsById(userId)) {
+				throw new NotFoundException("Пользователь с id = " + userId + " не найден");
+			}
+			cache(UserCacheConfig.USER_IDS).put(userId, Boolean.TRUE);
+		}
+
+		return userRepository.getReferenceById(userId);
+	}
+
 	@Override
 	public List<UserDto> findAll() {
 		log.info("Получение всех пользователей");
@@ -113,4 +141,17 @@ public class UserServiceImpl implements UserService {
 
 		return foundUsers;
 	}
+
+	private boolean isCached(Long userId) {
+		return cache(UserCacheConfig.USER_IDS).get(userId) != null || cache(UserCacheConfig.USERS).get(userId) != null;
+	}
+
+	private Cache cache(String name) {
+		Cache cache = cacheManager.getCache(name);
+		if (cache == null) {
+			throw new IllegalStateException("Кэш " + name + " не настроен");
+		}
+
+		return cache;
+	}
 }
\ No newline at end of file
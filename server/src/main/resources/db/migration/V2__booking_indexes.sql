@@ -0,0 +1,7 @@
+-- Бронирования арендатора: фильтр по booker_id (и статусу), сортировка и курсор по (start_date, id)
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date, id);
+
+-- Ближайшее и последнее подтверждённое бронирование вещи, бронирования вещей владельца
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date);
@@ -0,0 +1,2 @@
+-- Версия отзыва для оптимистической блокировки: теперь @Version есть у всех сущностей
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
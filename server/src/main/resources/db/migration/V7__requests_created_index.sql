@@ -0,0 +1,2 @@
+-- Лента чужих запросов: сортировка и курсор по (created, id) от новых к старым
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Вещи владельца и вещи, созданные в ответ на запросы
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
@@ -0,0 +1,2 @@
+-- id вещей выдаёт Hibernate из последовательности (оптимизатор pooled): шаг равен allocationSize в Item
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,236 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.exception.NotBookedException;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+// Без @Transactional: каждое подтверждение идёт в собственной транзакции из своего потока
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+		properties = "spring.datasource.username=shareit",
+		webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingConcurrencyIntegrationTest {
+	private static final int THREADS = 16;
+
+	private final BookingService bookingService;
+	private final ItemService itemService;
+	private final UserService userService;
+	private final ItemRepository itemRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	@SpyBean
+	private BookingRepository bookingRepository;
+
+	private UserDto owner;
+	private UserDto booker;
+	private ItemDto item;
+	private BookingDto booking;
+
+	@BeforeEach
+	void setUp() {
+		owner = userService.create(new CreateUserRequest("owner@concurrency", "Owner"));
+		booker = userService.create(new CreateUserRequest("booker@concurrency", "Booker"));
+		item = itemService.create(owner.getId(),
+				new CreateItemRequest("Дрель", "Ударная дрель", true, owner.getId(), null));
+		LocalDateTime start = LocalDateTime.now().plusDays(1);
+		booking = bookingService.create(booker.getId(),
+				new CreateBookingRequest(start, start.plusDays(1), item.getId(), booker.getId()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		bookingService.delete(booking.getId());
+		itemService.delete(owner.getId(), item.getId());
+		userService.delete(booker.getId());
+		userService.delete(owner.getId());
+	}
+
+	@Test
+	void should_approve_booking_once_when_both_approvals_read_waiting_status() throws Exception {
+		// Первые два чтения ждут друг друга: обе транзакции видят WAITING до того, как любая из них запишет статус
+		CyclicBarrier bothRead = new CyclicBarrier(2);
+		AtomicInteger reads = new AtomicInteger();
+		// Шпион репозитория-прокси делегирует вызовы ответом по умолчанию, callRealMethod для него недоступен
+		Answer<?> repository = mockingDetails(bookingRepository).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(invocation -> {
+			Object result = repository.answer(invocation);
+			if (reads.incrementAndGet() <= 2) {
+				bothRead.await(10, TimeUnit.SECONDS);
+			}
+			return result;
+		}).when(bookingRepository).findById(any());
+
+		List<Outcome<BookingDto>> outcomes = approveConcurrently(2);
+
+		// Проигравшая транзакция откатилась и перечитала бронирование при повторе
+		assertThat(reads.get(), equalTo(3));
+		assertOnlyOneApproval(outcomes);
+	}
+
+	@Test
+	void should_not_lose_update_under_parallel_approvals() throws Exception {
+		List<Outcome<BookingDto>> outcomes = approveConcurrently(THREADS);
+
+		assertOnlyOneApproval(outcomes);
+	}
+
+	@Test
+	void should_report_bulk_approval_as_done_by_exactly_one_of_parallel_calls() throws Exception {
+		List<Outcome<BookingApprovalDto>> outcomes = runConcurrently(THREADS,
+				i -> bookingService.approveBookings(owner.getId(), List.of(booking.getId()), true).getFirst());
+
+		assertThat(outcomes.stream().map(Outcome::error).filter(Objects::nonNull).toList(), empty());
+		// Все вызовы просили один и тот же статус, но изменил его только один
+		assertThat(outcomes.stream().filter(o -> o.result().getStatus() == Status.APPROVED).toList(), hasSize(1));
+		assertThat(outcomes.stream().filter(o -> o.result().getError() != null).toList(), hasSize(THREADS - 1));
+
+		Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+		assertThat(stored.getStatus(), equalTo(Status.APPROVED));
+		assertThat(stored.getVersion(), equalTo(1L));
+	}
+
+	@Test
+	void should_create_only_one_of_parallel_overlapping_bookings() throws Exception {
+		LocalDateTime start = booking.getStart().plusDays(5);
+		List<Outcome<BookingDto>> outcomes = runConcurrently(THREADS, i -> bookingService.create(booker.getId(),
+				new CreateBookingRequest(start.plusHours(i), start.plusDays(1).plusHours(i), item.getId(),
+						booker.getId())));
+
+		List<BookingDto> created = outcomes.stream().filter(o -> o.result() != null).map(Outcome::result).toList();
+		try {
+			assertThat(outcomes.stream().map(Outcome::error).filter(e -> e != null && !(e instanceof NotBookedException))
+					.toList(), empty());
+			assertThat(created, hasSize(1));
+		} finally {
+			created.forEach(dto -> bookingService.delete(dto.getId()));
+		}
+	}
+
+	@Test
+	void should_not_lock_item_while_bulk_approval_holds_bookings() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		CountDownLatch bookingsLocked = new CountDownLatch(1);
+		CountDownLatch itemLocked = new CountDownLatch(1);
+		try {
+			Future<?> approval = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				bookingRepository.findApprovalStatesForUpdate(List.of(booking.getId()));
+				bookingsLocked.countDown();
+				await(itemLocked);
+			}));
+			assertThat(bookingsLocked.await(10, TimeUnit.SECONDS), equalTo(true));
+
+			// Создание бронирования той же вещью не должно ждать конца массового подтверждения
+			Future<?> creation = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				itemRepository.findByIdForUpdate(item.getId());
+				itemLocked.countDown();
+			}));
+			creation.get(5, TimeUnit.SECONDS);
+			approval.get(10, TimeUnit.SECONDS);
+		} finally {
+			itemLocked.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private List<Outcome<BookingDto>> approveConcurrently(int threads) throws Exception {
+		return runConcurrently(threads,
+				i -> bookingService.approveBooking(booking.getId(), owner.getId(), i % 2 == 0));
+	}
+
+	private <T> List<Outcome<T>> runConcurrently(int threads, IntFunction<T> action) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Outcome<T>>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				int index = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						return new Outcome<>(action.apply(index), null);
+					} catch (RuntimeException e) {
+						return new Outcome<T>(null, e);
+					}
+				}));
+			}
+			start.countDown();
+
+			List<Outcome<T>> outcomes = new ArrayList<>();
+			for (Future<Outcome<T>> future : futures) {
+				outcomes.add(future.get(30, TimeUnit.SECONDS));
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void assertOnlyOneApproval(List<Outcome<BookingDto>> outcomes) {
+		List<BookingDto> succeeded = outcomes.stream().filter(o -> o.result() != null).map(Outcome::result).toList();
+		List<RuntimeException> unexpected = outcomes.stream()
+				.map(Outcome::error)
+				.filter(e -> e != null && !(e instanceof NotBookedException))
+				.toList();
+
+		assertThat(unexpected, empty());
+		assertThat(succeeded, hasSize(1));
+
+		Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+		assertThat(stored.getStatus(), equalTo(succeeded.getFirst().getStatus()));
+		assertThat(stored.getStatus() == Status.WAITING, equalTo(false));
+		assertThat(stored.getVersion(), equalTo(1L));
+	}
+
+	private record Outcome<T>(T result, RuntimeException error) {
+	}
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,7 +8,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.ApproveBookingsRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.enums.Status;
@@ -17,7 +21,10 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -182,7 +189,8 @@ class BookingControllerTest {
 
 		List<BookingDto> newRequests = List.of(requestDto1, requestDto2);
 
-		when(bookingService.findAllByBooker(anyLong(), any())).thenReturn(newRequests);
+		when(bookingService.findAllByBooker(anyLong(), any(), anyInt(), anyInt(), any()))
+				.thenReturn(newRequests);
 
 		mvc.perform(get(urlTemplate)
 						.characterEncoding(StandardCharsets.UTF_8)
@@ -216,7 +224,8 @@ class BookingControllerTest {
 
 		List<BookingDto> newRequests = List.of(requestDto1, requestDto2);
 
-		when(bookingService.findAllByOwner(anyLong(), anyString())).thenReturn(newRequests);
+		when(bookingService.findAllByOwner(anyLong(), anyString(), anyInt(), anyInt(), any()))
+				.thenReturn(newRequests);
 
 		mvc.perform(get(urlTemplate + "/owner")
 						.characterEncoding(StandardCharsets.UTF_8)
@@ -255,4 +264,61 @@ class BookingControllerTest {
 				.andExpect(jsonPath("$").exists())
 				.andExpect(content().json(mapper.writeValueAsString(requestDto)));
 	}
+
+	@Test
+	void should_approve_bookings_in_bulk() throws Exception {
+		List<BookingApprovalDto> outcomes = List.of(
+				new BookingApprovalDto(1L, Status.APPROVED, null),
+				new BookingApprovalDto(2L, null, "Бронирование подтверждено или отклонено"));
+		when(bookingService.approveBookings(1L, List.of(1L, 2L), true)).thenReturn(outcomes);
+
+		mvc.perform(patch(urlTemplate)
+						.param("approved", "true")
+						.content(mapper.writeValueAsString(new ApproveBookingsRequest(List.of(1L, 2L))))
+						.characterEncoding(StandardCharsets.UTF_8)
+						.header(headerUserId, 1L)
+						.contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].status", is("APPROVED")))
+				.andExpect(jsonPath("$[1].error", is("Бронирование подтверждено или отклонено")));
+	}
+
+	@Test
+	void should_stream_owner_bookings_as_ndjson() throws Exception {
+		ItemDto itemDto = makeItemDto(1L, "name", "description", Boolean.TRUE, 1L, 1L);
+		UserDto userDto = makeUserDto(2L, "john.doe@mail.com", "John Doe");
+		LocalDateTime start = LocalDateTime.of(2030, 7, 3, 19, 30, 1);
+		doAnswer(invocation -> {
+			Consumer<BookingDto> sink = invocation.getArgument(3);
+			sink.accept(makeBookingDto(5L, start, start.plusDays(1), Status.APPROVED, userDto, itemDto));
+			sink.accept(makeBookingDto(6L, start.plusDays(2), start.plusDays(3), Status.WAITING, userDto, itemDto));
+			return null;
+		}).when(bookingService).streamAllByOwner(eq(1L), eq("FUTURE"), eq(4L), any());
+
+		MvcResult result = mvc.perform(get(urlTemplate + "/owner")
+						.header(headerUserId, 1L)
+						.param("state", "FUTURE")
+						.param("after", "4")
+						.accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String body = mvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		List<Long> ids = body.lines().map(this::readId).toList();
+		assertThat(ids, contains(5L, 6L));
+		verify(bookingService).checkOwnerListing(1L, "FUTURE", 4L);
+	}
+
+	private Long readId(String json) {
+		try {
+			return mapper.readTree(json).get("id").asLong();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+		properties = "spring.datasource.username=shareit",
+		webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingIndexTest {
+	private final EntityManager em;
+
+	private String explain(String sql) {
+		return String.valueOf(em.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+	}
+
+	@Test
+	void should_use_booker_start_index_for_booker_listing() {
+		String plan = explain("SELECT id FROM bookings " +
+				"WHERE booker_id = 1 AND start_date > TIMESTAMP '2024-07-01 00:00:00' " +
+				"ORDER BY start_date, id");
+
+		assertThat(plan, containsStringIgnoringCase("idx_bookings_booker_start"));
+	}
+
+	@Test
+	void should_use_booker_status_index_for_booker_listing_by_status() {
+		String plan = explain("SELECT id FROM bookings " +
+				"WHERE booker_id = 1 AND status = 'WAITING' AND start_date > TIMESTAMP '2024-07-01 00:00:00' " +
+				"ORDER BY start_date, id");
+
+		assertThat(plan, containsStringIgnoringCase("idx_bookings_booker_status_start"));
+	}
+
+	@Test
+	void should_use_item_status_start_index_for_next_booking() {
+		String plan = explain("SELECT MIN(start_date) FROM bookings " +
+				"WHERE item_id = 1 AND status = 'APPROVED' AND start_date > TIMESTAMP '2024-07-01 00:00:00'");
+
+		assertThat(plan, containsStringIgnoringCase("idx_bookings_item_status_start"));
+	}
+
+	@Test
+	void should_use_item_status_end_index_for_last_booking() {
+		String plan = explain("SELECT MAX(end_date) FROM bookings " +
+				"WHERE item_id = 1 AND status = 'APPROVED' AND end_date < TIMESTAMP '2024-07-01 00:00:00'");
+
+		assertThat(plan, containsStringIgnoringCase("idx_bookings_item_status_end"));
+	}
+}
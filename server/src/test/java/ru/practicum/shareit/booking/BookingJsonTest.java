@@ -25,9 +25,9 @@ public class BookingJsonTest {
 		final LocalDateTime nextDay = LocalDateTime.now().plusDays(1);
 
 		final ItemDto itemDto =
-				new ItemDto(1L, "name", "description", Boolean.TRUE, 2L, 2L);
-		final UserDto userDto = new UserDto(1L, "ivan@email", "Ivan Ivanov");
-		final BookingDto bookingDto = new BookingDto(1L, now, nextDay, itemDto, Status.CANCELED, userDto);
+				new ItemDto(1L, "name", "description", Boolean.TRUE, 2L, 2L, 0L);
+		final UserDto userDto = new UserDto(1L, "ivan@email", "Ivan Ivanov", 0L);
+		final BookingDto bookingDto = new BookingDto(1L, now, nextDay, itemDto, Status.CANCELED, userDto, 0L);
 
 		JsonContent<BookingDto> result = bookingJson.write(bookingDto);
 
@@ -21,20 +21,20 @@ public class BookingMapperTest {
 	private final LocalDateTime now = LocalDateTime.now();
 	private final LocalDateTime nextDay = LocalDateTime.now().plusDays(1);
 
-	private final User user = new User(1L, "john.doe@mail.com", "John Doe");
-	private final Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
+	private final User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
+	private final Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L, 0L);
 
-	private final UserDto userDto = new UserDto(1L, "john.doe@mail.com", "John Doe");
+	private final UserDto userDto = new UserDto(1L, "john.doe@mail.com", "John Doe", 0L);
 	private final ItemDto itemDto =
-			new ItemDto(1L, "name", "description", Boolean.TRUE, 1L, 1L);
+			new ItemDto(1L, "name", "description", Boolean.TRUE, 1L, 1L, 0L);
 
 	private final CreateBookingRequest newBooking = new CreateBookingRequest(now, nextDay, 1L, 1L);
 	private final UpdateBookingRequest updBooking =
 			new UpdateBookingRequest(1L, now, nextDay, 1L, Status.WAITING, 1L);
 	private final UpdateBookingRequest updEmptyBooking =
 			new UpdateBookingRequest(1L, null, null, 1L, Status.WAITING, 1L);
-	private final BookingDto dto = new BookingDto(1L, now, nextDay, itemDto, Status.WAITING, userDto);
-	private final Booking booking = new Booking(1L, now, nextDay, item, Status.WAITING, user);
+	private final BookingDto dto = new BookingDto(1L, now, nextDay, itemDto, Status.WAITING, userDto, 0L);
+	private final Booking booking = new Booking(1L, now, nextDay, item, Status.WAITING, user, 0L);
 
 	@Test
 	public void should_map_booking_to_dto_correctly() {
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
@@ -19,6 +20,7 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.enums.State;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.exception.NotBookedException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -30,6 +32,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.persistence.StatementCounter.countStatements;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -82,7 +85,7 @@ class BookingServiceIntegrationTest {
 		bookingQuery.setParameter("endDate",
 				LocalDateTime.of(2024, 7, 2, 19, 30, 15));
 		bookingQuery.setParameter("itemId", 1L);
-		bookingQuery.setParameter("status", Status.APPROVED);
+		bookingQuery.setParameter("status", Status.APPROVED.name());
 		bookingQuery.setParameter("bookerId", 1L);
 		bookingQuery.executeUpdate();
 	}
@@ -97,7 +100,7 @@ class BookingServiceIntegrationTest {
 		currentBookingQuery.setParameter("endDate",
 				LocalDateTime.of(2026, 7, 2, 19, 30, 15));
 		currentBookingQuery.setParameter("itemId", 1L);
-		currentBookingQuery.setParameter("status", Status.APPROVED);
+		currentBookingQuery.setParameter("status", Status.APPROVED.name());
 		currentBookingQuery.setParameter("bookerId", 1L);
 		currentBookingQuery.executeUpdate();
 	}
@@ -112,7 +115,7 @@ class BookingServiceIntegrationTest {
 		lastBookingQuery.setParameter("endDate",
 				LocalDateTime.of(2024, 7, 2, 19, 30, 15));
 		lastBookingQuery.setParameter("itemId", 1L);
-		lastBookingQuery.setParameter("status", Status.APPROVED);
+		lastBookingQuery.setParameter("status", Status.APPROVED.name());
 		lastBookingQuery.setParameter("bookerId", 1L);
 		lastBookingQuery.executeUpdate();
 	}
@@ -127,11 +130,71 @@ class BookingServiceIntegrationTest {
 		nextBookingQuery.setParameter("endDate",
 				LocalDateTime.of(2025, 6, 2, 19, 30, 15));
 		nextBookingQuery.setParameter("itemId", 1L);
-		nextBookingQuery.setParameter("status", Status.APPROVED);
+		nextBookingQuery.setParameter("status", Status.APPROVED.name());
 		nextBookingQuery.setParameter("bookerId", 1L);
 		nextBookingQuery.executeUpdate();
 	}
 
+	private void createBookingInDb(Long id, LocalDateTime start, Long bookerId) {
+		Query bookingQuery =
+				em.createNativeQuery("INSERT INTO Bookings (id, start_date, end_date, item_id, status, booker_id) " +
+						"VALUES (:id , :startDate , :endDate , :itemId , :status , :bookerId);");
+		bookingQuery.setParameter("id", id);
+		bookingQuery.setParameter("startDate", start);
+		bookingQuery.setParameter("endDate", start.plusDays(1));
+		bookingQuery.setParameter("itemId", 1L);
+		bookingQuery.setParameter("status", Status.APPROVED.name());
+		bookingQuery.setParameter("bookerId", bookerId);
+		bookingQuery.executeUpdate();
+	}
+
+	private void createUserInDb(Long id) {
+		Query userQuery = em.createNativeQuery("INSERT INTO Users (id, name, email) " +
+				"VALUES (:id , :name , :email);");
+		userQuery.setParameter("id", id);
+		userQuery.setParameter("name", "User " + id);
+		userQuery.setParameter("email", "user" + id + "@email");
+		userQuery.executeUpdate();
+	}
+
+	private void createItemInDb(Long id, Long ownerId) {
+		Query itemQuery =
+				em.createNativeQuery("INSERT INTO Items (id, name, description, available, owner_id) " +
+						"VALUES (:id , :name , :description , :available , :owner_id);");
+		itemQuery.setParameter("id", id);
+		itemQuery.setParameter("name", "name " + id);
+		itemQuery.setParameter("description", "description");
+		itemQuery.setParameter("available", Boolean.TRUE);
+		itemQuery.setParameter("owner_id", ownerId);
+		itemQuery.executeUpdate();
+	}
+
+	private void createBookingInDb(Long id, Long itemId, Long bookerId, LocalDateTime start) {
+		Query bookingQuery =
+				em.createNativeQuery("INSERT INTO Bookings (id, start_date, end_date, item_id, status, booker_id) " +
+						"VALUES (:id , :startDate , :endDate , :itemId , :status , :bookerId);");
+		bookingQuery.setParameter("id", id);
+		bookingQuery.setParameter("startDate", start);
+		bookingQuery.setParameter("endDate", start.plusDays(1));
+		bookingQuery.setParameter("itemId", itemId);
+		bookingQuery.setParameter("status", Status.APPROVED.name());
+		bookingQuery.setParameter("bookerId", bookerId);
+		bookingQuery.executeUpdate();
+	}
+
+	private void createWaitingBookingInDb(Long id, LocalDateTime start) {
+		Query bookingQuery =
+				em.createNativeQuery("INSERT INTO Bookings (id, start_date, end_date, item_id, status, booker_id) " +
+						"VALUES (:id , :startDate , :endDate , :itemId , :status , :bookerId);");
+		bookingQuery.setParameter("id", id);
+		bookingQuery.setParameter("startDate", start);
+		bookingQuery.setParameter("endDate", start.plusDays(1));
+		bookingQuery.setParameter("itemId", 1L);
+		bookingQuery.setParameter("status", Status.WAITING.name());
+		bookingQuery.setParameter("bookerId", 2L);
+		bookingQuery.executeUpdate();
+	}
+
 	@Test
 	void should_create_booking() {
 		createUser1InDb();
@@ -302,7 +365,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByBooker(1L, String.valueOf(State.ALL));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByBooker(1L, String.valueOf(State.ALL), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -324,7 +388,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createCurrentBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByBooker(1L, String.valueOf(State.CURRENT));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByBooker(1L, String.valueOf(State.CURRENT), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -346,7 +411,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createLastBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByBooker(1L, String.valueOf(State.PAST));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByBooker(1L, String.valueOf(State.PAST), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -368,7 +434,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createNextBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByBooker(1L, String.valueOf(State.FUTURE));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByBooker(1L, String.valueOf(State.FUTURE), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -398,7 +465,8 @@ class BookingServiceIntegrationTest {
 
 		BookingDto findBooking = bookingService.create(2L, newRequest);
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByBooker(2L, String.valueOf(State.WAITING));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByBooker(2L, String.valueOf(State.WAITING), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -429,7 +497,8 @@ class BookingServiceIntegrationTest {
 
 		bookingService.approveBooking(newBooking.getId(), newBooking.getItem().getOwnerId(), Boolean.FALSE);
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByBooker(2L, String.valueOf(State.REJECTED));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByBooker(2L, String.valueOf(State.REJECTED), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -451,7 +520,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByOwner(1L, String.valueOf(State.ALL));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByOwner(1L, String.valueOf(State.ALL), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -473,7 +543,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createCurrentBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByOwner(1L, String.valueOf(State.CURRENT));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByOwner(1L, String.valueOf(State.CURRENT), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -495,7 +566,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createLastBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByOwner(1L, String.valueOf(State.PAST));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByOwner(1L, String.valueOf(State.PAST), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -517,7 +589,8 @@ class BookingServiceIntegrationTest {
 		createItemInDb();
 		createNextBookingInDb();
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByOwner(1L, String.valueOf(State.FUTURE));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByOwner(1L, String.valueOf(State.FUTURE), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -547,7 +620,8 @@ class BookingServiceIntegrationTest {
 
 		BookingDto findBooking = bookingService.create(2L, newRequest);
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByOwner(1L, String.valueOf(State.WAITING));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByOwner(1L, String.valueOf(State.WAITING), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -578,7 +652,8 @@ class BookingServiceIntegrationTest {
 
 		bookingService.approveBooking(newBooking.getId(), newBooking.getItem().getOwnerId(), Boolean.FALSE);
 
-		Collection<BookingDto> loadBookings = bookingService.findAllByOwner(1L, String.valueOf(State.REJECTED));
+		Collection<BookingDto> loadBookings =
+				bookingService.findAllByOwner(1L, String.valueOf(State.REJECTED), 0, 10, null);
 
 		assertThat(loadBookings, hasSize(1));
 		for (BookingDto booking : loadBookings) {
@@ -593,6 +668,147 @@ class BookingServiceIntegrationTest {
 		}
 	}
 
+	@Test
+	void should_find_bookings_by_booker_page_by_page_ordered_by_start() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createBookingInDb(10L, LocalDateTime.of(2024, 7, 3, 19, 30, 15), 2L);
+		createBookingInDb(11L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+		createBookingInDb(12L, LocalDateTime.of(2024, 7, 2, 19, 30, 15), 2L);
+
+		List<BookingDto> firstPage = bookingService.findAllByBooker(2L, String.valueOf(State.ALL), 0, 2, null);
+		List<BookingDto> nextPage = bookingService.findAllByBooker(2L, String.valueOf(State.ALL), 0, 2,
+				firstPage.getLast().getId());
+		List<BookingDto> offsetPage = bookingService.findAllByBooker(2L, String.valueOf(State.ALL), 2, 2, null);
+
+		assertThat(firstPage.stream().map(BookingDto::getId).toList(), contains(11L, 12L));
+		assertThat(nextPage.stream().map(BookingDto::getId).toList(), contains(10L));
+		assertThat(offsetPage.stream().map(BookingDto::getId).toList(), contains(10L));
+	}
+
+	@Test
+	void should_find_bookings_by_owner_after_cursor_with_equal_start() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createBookingInDb(20L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+		createBookingInDb(21L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+		createBookingInDb(22L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+
+		List<BookingDto> bookings = bookingService.findAllByOwner(1L, String.valueOf(State.ALL), 0, 10, 20L);
+
+		assertThat(bookings.stream().map(BookingDto::getId).toList(), contains(21L, 22L));
+	}
+
+	@Test
+	void should_fail_find_bookings_after_foreign_or_missing_cursor_alike() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createBookingInDb(20L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+
+		ValidationException foreignForBooker = assertThrows(ValidationException.class, () ->
+				bookingService.findAllByBooker(1L, String.valueOf(State.ALL), 0, 10, 20L));
+		ValidationException missingForBooker = assertThrows(ValidationException.class, () ->
+				bookingService.findAllByBooker(1L, String.valueOf(State.ALL), 0, 10, 99L));
+		ValidationException foreignForOwner = assertThrows(ValidationException.class, () ->
+				bookingService.findAllByOwner(2L, String.valueOf(State.ALL), 0, 10, 20L));
+		ValidationException missingForOwner = assertThrows(ValidationException.class, () ->
+				bookingService.checkOwnerListing(2L, String.valueOf(State.ALL), 99L));
+
+		assertEquals(foreignForBooker.getMessage(), missingForBooker.getMessage());
+		assertEquals(foreignForOwner.getMessage(), missingForOwner.getMessage());
+	}
+
+	@Test
+	void should_find_bookings_starting_before_1970_on_first_page() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createBookingInDb(10L, LocalDateTime.of(1965, 7, 1, 19, 30, 15), 2L);
+		createBookingInDb(11L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+
+		List<BookingDto> bookerBookings = bookingService.findAllByBooker(2L, String.valueOf(State.ALL), 0, 10, null);
+		List<BookingDto> ownerBookings = bookingService.findAllByOwner(1L, String.valueOf(State.ALL), 0, 10, null);
+
+		assertThat(bookerBookings.stream().map(BookingDto::getId).toList(), contains(10L, 11L));
+		assertThat(ownerBookings.stream().map(BookingDto::getId).toList(), contains(10L, 11L));
+	}
+
+	@Test
+	void should_fail_find_bookings_when_from_not_multiple_of_page_size() {
+		createUser1InDb();
+
+		ValidationException thrown = assertThrows(ValidationException.class, () ->
+				bookingService.findAllByBooker(1L, String.valueOf(State.ALL), 5, 10, null));
+
+		assertEquals("Индекс первого элемента должен быть кратен размеру страницы", thrown.getMessage());
+	}
+
+	@Test
+	void should_fail_find_bookings_when_from_given_with_cursor() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createBookingInDb(10L, LocalDateTime.of(2024, 7, 1, 19, 30, 15), 2L);
+
+		ValidationException thrown = assertThrows(ValidationException.class, () ->
+				bookingService.findAllByOwner(1L, String.valueOf(State.ALL), 2, 2, 10L));
+
+		assertEquals("Индекс первого элемента и курсор after не задаются вместе", thrown.getMessage());
+	}
+
+	@Test
+	void should_fail_find_bookings_when_page_size_not_positive() {
+		createUser1InDb();
+
+		assertThrows(ValidationException.class, () ->
+				bookingService.findAllByBooker(1L, String.valueOf(State.ALL), 0, 0, null));
+	}
+
+	@Test
+	void should_find_bookings_with_fixed_statement_count_regardless_of_result_size() {
+		// Вещи 1..20 принадлежат пользователю 1 и забронированы разными пользователями 2..21,
+		// вещи 21..40 принадлежат разным пользователям 2..21 и забронированы пользователем 22
+		for (long id = 1L; id <= 22L; id++) {
+			createUserInDb(id);
+		}
+		for (long id = 1L; id <= 20L; id++) {
+			createItemInDb(id, 1L);
+			createItemInDb(id + 20, id + 1);
+		}
+		LocalDateTime start = LocalDateTime.of(2024, 7, 1, 19, 30, 15);
+		createBookingInDb(1L, 1L, 2L, start);
+		createBookingInDb(21L, 21L, 22L, start);
+
+		long singleOwnerBookingStatements = countStatements(em, () ->
+				bookingService.findAllByOwner(1L, String.valueOf(State.ALL), 0, 20, null));
+		long singleBookerBookingStatements = countStatements(em, () ->
+				bookingService.findAllByBooker(22L, String.valueOf(State.ALL), 0, 20, null));
+
+		for (long id = 2L; id <= 20L; id++) {
+			createBookingInDb(id, id, id + 1, start.plusDays(id));
+			createBookingInDb(id + 20, id + 20, 22L, start.plusDays(id));
+		}
+
+		List<BookingDto> ownerBookings = new ArrayList<>();
+		long manyOwnerBookingsStatements = countStatements(em, () ->
+				ownerBookings.addAll(bookingService.findAllByOwner(1L, String.valueOf(State.ALL), 0, 20, null)));
+		List<BookingDto> bookerBookings = new ArrayList<>();
+		long manyBookerBookingsStatements = countStatements(em, () ->
+				bookerBookings.addAll(bookingService.findAllByBooker(22L, String.valueOf(State.ALL), 0, 20, null)));
+
+		assertThat(ownerBookings.stream().map(booking -> booking.getBooker().getId()).distinct().count(),
+				equalTo(20L));
+		assertThat(bookerBookings.stream().map(booking -> booking.getItem().getOwnerId()).distinct().count(),
+				equalTo(20L));
+		assertThat(singleOwnerBookingStatements, equalTo(2L));
+		assertThat(manyOwnerBookingsStatements, equalTo(singleOwnerBookingStatements));
+		assertThat(singleBookerBookingStatements, equalTo(2L));
+		assertThat(manyBookerBookingsStatements, equalTo(singleBookerBookingStatements));
+	}
+
 	@Test
 	void should_approve_booking() {
 		createUser1InDb();
@@ -646,4 +862,53 @@ class BookingServiceIntegrationTest {
 		assertThat(approvedBooking.getBooker(), CoreMatchers.notNullValue());
 		assertThat(approvedBooking.getBooker().getClass(), CoreMatchers.equalTo(UserDto.class));
 	}
+
+	@Test
+	void should_reject_waiting_bookings_in_bulk_and_report_the_rest() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createBookingInDb();
+		LocalDateTime start = LocalDateTime.now().plusDays(10);
+		createWaitingBookingInDb(10L, start);
+		createWaitingBookingInDb(11L, start.plusDays(2));
+
+		List<BookingApprovalDto> outcomes = new ArrayList<>();
+		long statements = countStatements(em, () ->
+				outcomes.addAll(bookingService.approveBookings(1L, List.of(10L, 1L, 11L, 10L, 99L), false)));
+
+		assertThat(outcomes.stream().map(BookingApprovalDto::getBookingId).toList(), contains(10L, 1L, 11L, 99L));
+		assertThat(outcomes.get(0), equalTo(new BookingApprovalDto(10L, Status.REJECTED, null)));
+		assertThat(outcomes.get(1).getError(), equalTo("Бронирование подтверждено или отклонено"));
+		assertThat(outcomes.get(2), equalTo(new BookingApprovalDto(11L, Status.REJECTED, null)));
+		assertThat(outcomes.get(3).getError(), equalTo("Бронирование с id = 99 не найдено"));
+		// Пользователь, чтение статусов с блокировкой, вещи владельца без блокировки и одно обновление на все бронирования
+		assertThat(statements, equalTo(4L));
+
+		Booking rejected = em.find(Booking.class, 11L);
+		assertThat(rejected.getStatus(), equalTo(Status.REJECTED));
+		assertThat(rejected.getVersion(), equalTo(1L));
+		assertThat(em.find(Booking.class, 1L).getStatus(), equalTo(Status.APPROVED));
+	}
+
+	@Test
+	void should_not_approve_bookings_of_another_owner_in_bulk() {
+		createUser1InDb();
+		createUser2InDb();
+		createItemInDb();
+		createWaitingBookingInDb(10L, LocalDateTime.now().plusDays(10));
+
+		List<BookingApprovalDto> outcomes = bookingService.approveBookings(2L, List.of(10L), true);
+
+		assertThat(outcomes, contains(
+				new BookingApprovalDto(10L, null, "Только владелец вещи может подтверждать бронирование")));
+		assertThat(em.find(Booking.class, 10L).getStatus(), equalTo(Status.WAITING));
+	}
+
+	@Test
+	void should_fail_bulk_approval_without_booking_ids() {
+		createUser1InDb();
+
+		assertThrows(ValidationException.class, () -> bookingService.approveBookings(1L, List.of(), true));
+	}
 }
\ No newline at end of file
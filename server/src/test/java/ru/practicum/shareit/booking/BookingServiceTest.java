@@ -8,6 +8,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import ru.practicum.shareit.booking.availability.BookingOverlapCheck;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
@@ -26,6 +28,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
@@ -34,7 +37,10 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.user.UserLookupStubs.stubUserLookup;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -54,6 +60,15 @@ class BookingServiceTest {
 	@InjectMocks
 	private ItemServiceImpl itemService;
 
+	@Mock
+	private UserService cachedUserService;
+
+	@Mock
+	private ItemAvailabilityIndex availabilityIndex;
+
+	@Mock
+	private BookingOverlapCheck overlapCheck;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -65,11 +80,16 @@ class BookingServiceTest {
 	private User user3;
 	private ItemRequest itemRequest;
 
+	@BeforeEach
+	void setUpUserLookup() {
+		stubUserLookup(cachedUserService, userRepository);
+	}
+
 	@BeforeEach
 	void setUp() {
-		user1 = new User(1L, "john.doe@mail.com", "John Doe");
-		user2 = new User(2L, "jane.doe@mail.com", "Jane Doe");
-		user3 = new User(999L, "other@mail.com", "Other");
+		user1 = new User(1L, "john.doe@mail.com", "John Doe", 0L);
+		user2 = new User(2L, "jane.doe@mail.com", "Jane Doe", 0L);
+		user3 = new User(999L, "other@mail.com", "Other", 0L);
 
 		when(userRepository.findByEmail(any())).thenReturn(Optional.empty());
 		when(userRepository.save(any())).thenReturn(user1).thenReturn(user2).thenReturn(user3);
@@ -91,9 +111,9 @@ class BookingServiceTest {
 
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.FALSE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.FALSE, user1, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.FALSE, user1, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
-		when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+		when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
 		NotBookedException thrown = assertThrows(NotBookedException.class, () -> {
 			bookingService.create(1L, newBooking);
@@ -111,9 +131,9 @@ class BookingServiceTest {
 
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
-		when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+		when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
 		NotBookedException thrown = assertThrows(NotBookedException.class, () -> {
 			bookingService.create(1L, newBooking);
@@ -122,11 +142,29 @@ class BookingServiceTest {
 		assertEquals("Нельзя забронировать свою вещь", thrown.getMessage());
 	}
 
+	@Test
+	void should_fail_create_booking_when_period_overlaps_active_booking() {
+		CreateBookingRequest newBooking = new CreateBookingRequest(
+				LocalDateTime.of(2024, 7, 1, 19, 30, 15),
+				LocalDateTime.of(2024, 7, 2, 19, 30, 15),
+				1L, 2L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L, 0L);
+		when(itemRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(item));
+		when(availabilityIndex.isBooked(1L, newBooking.getStart(), newBooking.getEnd())).thenReturn(true);
+
+		NotBookedException thrown = assertThrows(NotBookedException.class, () -> {
+			bookingService.create(2L, newBooking);
+		});
+
+		assertEquals("Вещь уже забронирована на эти даты", thrown.getMessage());
+		verify(bookingRepository, never()).save(any());
+	}
+
 	@Test
 	void should_fail_find_booking_when_user_not_owner_or_booker() {
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
 		when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
@@ -137,7 +175,7 @@ class BookingServiceTest {
 		Booking booking =
 				new Booking(1L, LocalDateTime.of(2024, 7, 1, 19, 30, 15),
 						LocalDateTime.of(2024, 7, 2, 19, 30, 15),
-						item, Status.WAITING, user2);
+						item, Status.WAITING, user2, 0L);
 		when(bookingRepository.save(any())).thenReturn(booking);
 		when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
 
@@ -168,7 +206,7 @@ class BookingServiceTest {
 	void should_fail_update_booking_when_user_not_owner_or_booker() {
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L, 0L);
 		when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
 
 		CreateBookingRequest newBooking = new CreateBookingRequest(
@@ -182,8 +220,8 @@ class BookingServiceTest {
 				LocalDateTime.of(2024, 7, 2, 19, 30, 15),
 				item,
 				Status.WAITING,
-				user2
-		);
+				user2,
+				0L);
 		when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 		when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
@@ -201,7 +239,7 @@ class BookingServiceTest {
 	void should_fail_approve_booking_when_user_not_owner() {
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
 		when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
@@ -212,7 +250,7 @@ class BookingServiceTest {
 		Booking booking =
 				new Booking(1L, LocalDateTime.of(2024, 7, 1, 19, 30, 15),
 						LocalDateTime.of(2024, 7, 2, 19, 30, 15),
-						item, Status.WAITING, user2);
+						item, Status.WAITING, user2, 0L);
 		when(bookingRepository.save(any())).thenReturn(booking);
 		when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
 
@@ -227,7 +265,7 @@ class BookingServiceTest {
 	void should_fail_approve_booking_when_status_not_waiting() {
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
 		when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
@@ -238,7 +276,7 @@ class BookingServiceTest {
 		Booking booking =
 				new Booking(1L, LocalDateTime.of(2024, 7, 1, 19, 30, 15),
 						LocalDateTime.of(2024, 7, 2, 19, 30, 15),
-						item, Status.APPROVED, user2);
+						item, Status.APPROVED, user2, 0L);
 		when(bookingRepository.save(any())).thenReturn(booking);
 		when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
 
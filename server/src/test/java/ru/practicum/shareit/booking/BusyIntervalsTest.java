@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.availability.BusyIntervals;
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BusyIntervalsTest {
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+	@Test
+	void should_merge_overlapping_and_adjacent_bookings() {
+		List<String> busy = merge(0, 10, interval(0, 2), interval(1, 3), interval(3, 4), interval(6, 7));
+
+		assertEquals(List.of("0-4", "6-7"), busy);
+	}
+
+	@Test
+	void should_keep_merged_end_when_contained_booking_ends_earlier() {
+		List<String> busy = merge(0, 10, interval(1, 8), interval(2, 3), interval(8, 9));
+
+		assertEquals(List.of("1-9"), busy);
+	}
+
+	@Test
+	void should_clip_bookings_to_window() {
+		List<String> busy = merge(2, 6, interval(0, 3), interval(5, 9));
+
+		assertEquals(List.of("2-3", "5-6"), busy);
+	}
+
+	@Test
+	void should_return_nothing_for_empty_input() {
+		assertTrue(merge(0, 10).isEmpty());
+	}
+
+	private static List<String> merge(int from, int to, BookingInterval... intervals) {
+		List<String> busy = new ArrayList<>();
+		int merged = BusyIntervals.merge(List.of(intervals).iterator(), day(from), day(to),
+				(start, end) -> busy.add(start.getDayOfMonth() - 1 + "-" + (end.getDayOfMonth() - 1)));
+		assertEquals(busy.size(), merged);
+		return busy;
+	}
+
+	private static BookingInterval interval(int startDay, int endDay) {
+		return new BookingInterval() {
+			@Override
+			public Long getId() {
+				return (long) startDay;
+			}
+
+			@Override
+			public LocalDateTime getStart() {
+				return day(startDay);
+			}
+
+			@Override
+			public LocalDateTime getEnd() {
+				return day(endDay);
+			}
+		};
+	}
+
+	private static LocalDateTime day(int offset) {
+		return DAY.plusDays(offset);
+	}
+}
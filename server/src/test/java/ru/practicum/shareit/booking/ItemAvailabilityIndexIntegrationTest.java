@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import ru.practicum.shareit.booking.availability.BookingOverlapCheck;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotBookedException;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Без @Transactional: бронирования попадают в дерево вещи при фиксации собственных транзакций
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+		properties = {"spring.datasource.username=shareit", "shareit.booking.availability-index.enabled=true"},
+		webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemAvailabilityIndexIntegrationTest {
+	private static final int THREADS = 16;
+
+	private final BookingService bookingService;
+	private final ItemService itemService;
+	private final UserService userService;
+
+	@SpyBean
+	private BookingOverlapCheck overlapCheck;
+
+	private UserDto owner;
+	private UserDto booker;
+	private ItemDto item;
+	private final List<BookingDto> created = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		owner = userService.create(new CreateUserRequest("owner@index", "Owner"));
+		booker = userService.create(new CreateUserRequest("booker@index", "Booker"));
+		item = itemService.create(owner.getId(),
+				new CreateItemRequest("Дрель", "Ударная дрель", true, owner.getId(), null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		created.forEach(dto -> bookingService.delete(dto.getId()));
+		itemService.delete(owner.getId(), item.getId());
+		userService.delete(booker.getId());
+		userService.delete(owner.getId());
+	}
+
+	@Test
+	void should_create_only_one_of_parallel_overlapping_bookings_without_overlap_query() throws Exception {
+		LocalDateTime start = LocalDateTime.now().plusDays(3);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch go = new CountDownLatch(1);
+		List<RuntimeException> unexpected = new ArrayList<>();
+		try {
+			List<Future<BookingDto>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				int shift = i;
+				futures.add(executor.submit(() -> {
+					go.await();
+					try {
+						return bookingService.create(booker.getId(), new CreateBookingRequest(start.plusHours(shift),
+								start.plusDays(1).plusHours(shift), item.getId(), booker.getId()));
+					} catch (NotBookedException e) {
+						return null;
+					} catch (RuntimeException e) {
+						synchronized (unexpected) {
+							unexpected.add(e);
+						}
+						return null;
+					}
+				}));
+			}
+			go.countDown();
+			for (Future<BookingDto> future : futures) {
+				BookingDto booking = future.get(30, TimeUnit.SECONDS);
+				if (booking != null) {
+					created.add(booking);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(unexpected, empty());
+		assertThat(created, hasSize(1));
+		verify(overlapCheck, never()).exists(any(), any(), any(), any());
+	}
+
+	@Test
+	void should_free_period_after_booking_rejection() {
+		LocalDateTime start = LocalDateTime.now().plusDays(3);
+		BookingDto first = bookingService.create(booker.getId(),
+				new CreateBookingRequest(start, start.plusDays(1), item.getId(), booker.getId()));
+		created.add(first);
+		assertThrows(NotBookedException.class, () -> bookingService.create(booker.getId(),
+				new CreateBookingRequest(start.plusHours(1), start.plusDays(2), item.getId(), booker.getId())));
+
+		bookingService.approveBooking(first.getId(), owner.getId(), false);
+
+		created.add(bookingService.create(booker.getId(),
+				new CreateBookingRequest(start.plusHours(1), start.plusDays(2), item.getId(), booker.getId())));
+		verify(overlapCheck, never()).exists(any(), any(), any(), any());
+	}
+}
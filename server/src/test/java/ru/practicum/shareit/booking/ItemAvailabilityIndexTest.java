@@ -0,0 +1,182 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.BookingOverlapCheck;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+	private static final LocalDateTime DAY = LocalDateTime.now().plusDays(1).withNano(0);
+
+	@Mock
+	private BookingRepository bookingRepository;
+
+	@Mock
+	private BookingOverlapCheck overlapCheck;
+
+	private ItemAvailabilityIndex index;
+
+	private final List<BookingInterval> stored = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		when(bookingRepository.findIntervalsByItemId(eq(1L), any(), any())).thenReturn(stored);
+		when(overlapCheck.exists(eq(1L), any(), any(), any())).thenReturn(true);
+		index = new ItemAvailabilityIndex(true, "maximumSize=100", bookingRepository, overlapCheck,
+				new SimpleMeterRegistry());
+	}
+
+	@Test
+	void should_detect_overlap_with_loaded_bookings_as_half_open_intervals() {
+		stored.add(new Interval(1L, day(1), day(3)));
+		stored.add(new Interval(2L, day(5), day(6)));
+
+		assertTrue(index.isBooked(1L, day(2), day(4)));
+		assertTrue(index.isBooked(1L, day(0), day(10)));
+		assertFalse(index.isBooked(1L, day(3), day(5)));
+		assertFalse(index.isBooked(1L, day(6), day(7)));
+		assertFalse(index.isBooked(1L, day(-1), day(1)));
+		verify(bookingRepository, times(1)).findIntervalsByItemId(eq(1L), any(), any());
+	}
+
+	@Test
+	void should_find_overlap_hidden_behind_long_earlier_booking() {
+		stored.add(new Interval(1L, day(0), day(20)));
+		for (long i = 2; i < 200; i++) {
+			stored.add(new Interval(i, day(0).plusMinutes(i), day(0).plusMinutes(i + 1)));
+		}
+
+		assertTrue(index.isBooked(1L, day(15), day(16)));
+		assertFalse(index.isBooked(1L, day(20), day(21)));
+	}
+
+	@Test
+	void should_apply_booked_and_released_bookings_to_loaded_item() {
+		assertFalse(index.isBooked(1L, day(1), day(2)));
+
+		Booking booking = booking(7L, day(1), day(3));
+		index.booked(booking);
+		assertTrue(index.isBooked(1L, day(2), day(4)));
+
+		index.released(booking);
+		assertFalse(index.isBooked(1L, day(2), day(4)));
+	}
+
+	@Test
+	void should_release_booking_read_back_with_truncated_start() {
+		assertFalse(index.isBooked(1L, day(1), day(2)));
+		index.booked(booking(7L, day(1).plusNanos(123_456_789), day(3)));
+
+		index.released(booking(7L, day(1).plusNanos(123_456_000), day(3)));
+
+		assertFalse(index.isBooked(1L, day(2), day(4)));
+	}
+
+	@Test
+	void should_reload_item_after_invalidation() {
+		assertFalse(index.isBooked(1L, day(1), day(2)));
+		stored.add(new Interval(1L, day(1), day(3)));
+
+		index.invalidate(1L);
+
+		assertTrue(index.isBooked(1L, day(1), day(2)));
+	}
+
+	@Test
+	void should_answer_from_tree_without_overlap_query() {
+		stored.add(new Interval(1L, day(1), day(3)));
+
+		assertTrue(index.isBooked(1L, day(1), day(2)));
+		assertFalse(index.isBooked(1L, day(3), day(4)));
+		verifyNoInteractions(overlapCheck);
+	}
+
+	@Test
+	void should_apply_new_booking_before_commit_and_reload_after_rollback() {
+		assertFalse(index.isBooked(1L, day(1), day(2)));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			index.booked(booking(7L, day(1), day(3)));
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			assertFalse(index.isBooked(1L, day(1), day(2)));
+
+			synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+			assertTrue(index.isBooked(1L, day(1), day(2)));
+
+			synchronizations.forEach(synchronization ->
+					synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertFalse(index.isBooked(1L, day(1), day(2)));
+		verify(bookingRepository, times(2)).findIntervalsByItemId(eq(1L), any(), any());
+	}
+
+	@Test
+	void should_check_period_in_database_when_disabled() {
+		ItemAvailabilityIndex disabled =
+				new ItemAvailabilityIndex(false, "maximumSize=100", bookingRepository, overlapCheck,
+						new SimpleMeterRegistry());
+		stored.add(new Interval(1L, day(1), day(3)));
+
+		assertTrue(disabled.isBooked(1L, day(1), day(2)));
+		verify(overlapCheck).exists(eq(1L), eq(day(1)), eq(day(2)), any());
+		verifyNoInteractions(bookingRepository);
+	}
+
+	private static LocalDateTime day(int offset) {
+		return DAY.plusDays(offset);
+	}
+
+	private static Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+		Item item = new Item();
+		item.setId(1L);
+		return new Booking(id, start, end, item, Status.WAITING, null, 0L);
+	}
+
+	private record Interval(Long id, LocalDateTime start, LocalDateTime end) implements BookingInterval {
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public LocalDateTime getStart() {
+			return start;
+		}
+
+		@Override
+		public LocalDateTime getEnd() {
+			return end;
+		}
+	}
+}
@@ -5,27 +5,45 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CreateCommentRequest;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.ItemDetailsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.importing.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -37,6 +55,9 @@ class ItemControllerTest {
 	@MockBean
 	ItemService itemService;
 
+	@MockBean
+	ItemImportService itemImportService;
+
 	@Autowired
 	private MockMvc mvc;
 
@@ -45,7 +66,7 @@ class ItemControllerTest {
 
 	private ItemDto makeItemDto(Long id, String name, String description,
 	                            Boolean available, Long ownerId, Long requestId) {
-		return new ItemDto(id, name, description, available, ownerId, requestId);
+		return new ItemDto(id, name, description, available, ownerId, requestId, 0L);
 	}
 
 	private ItemDetailsDto makeItemDetailsDto(Long id, String name, String description,
@@ -53,7 +74,7 @@ class ItemControllerTest {
 	                                          LocalDateTime nextBooking,
 	                                          List<CommentDto> comments, Long ownerId, Long requestId) {
 		return new ItemDetailsDto(id, name, description, available, lastBooking, nextBooking,
-				comments, ownerId, requestId);
+				comments, ownerId, requestId, 0L);
 	}
 
 	private CommentDto makeCommentDto(Long id, String text, Long itemId, String authorName, LocalDateTime created) {
@@ -231,7 +252,7 @@ class ItemControllerTest {
 				makeItemDto(2L, "name2", "description2", true, 1L, 2L);
 		List<ItemDto> items = List.of(item1, item2);
 
-		when(itemService.findItemsByBooker(anyLong(), anyString())).thenReturn(items);
+		when(itemService.findItemsByBooker(anyLong(), anyString(), anyInt(), anyInt())).thenReturn(items);
 
 		mvc.perform(get(urlTemplate + "/search")
 						.param("text", "name")
@@ -247,7 +268,7 @@ class ItemControllerTest {
 				.andExpect(jsonPath("$[1].id", is(item2.getId()), Long.class))
 				.andExpect(jsonPath("$[1].name", is(item2.getName())));
 
-		verify(itemService, times(1)).findItemsByBooker(1L, "name");
+		verify(itemService, times(1)).findItemsByBooker(1L, "name", 0, 10);
 	}
 
 	@Test
@@ -272,4 +293,155 @@ class ItemControllerTest {
 
 		verify(itemService, times(1)).addComment(1L, 1L, request);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void should_return_not_modified_when_item_version_unchanged() throws Exception {
+		ItemDetailsDto responseDto = makeItemDetailsDto(1L, "name", "description", true,
+				null, null, List.of(), 1L, null);
+
+		when(itemService.findItemById(anyLong(), anyLong())).thenReturn(responseDto);
+
+		String entityTag = mvc.perform(get(urlTemplate + "/{id}", 1L)
+						.header(headerUserId, 1L)
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn()
+				.getResponse()
+				.getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get(urlTemplate + "/{id}", 1L)
+						.header(headerUserId, 1L)
+						.header(HttpHeaders.IF_NONE_MATCH, entityTag)
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		responseDto.setVersion(1L);
+
+		mvc.perform(get(urlTemplate + "/{id}", 1L)
+						.header(headerUserId, 1L)
+						.header(HttpHeaders.IF_NONE_MATCH, entityTag)
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(entityTag)))
+				.andExpect(jsonPath("$.version").doesNotExist());
+	}
+
+	@Test
+	void should_stream_busy_intervals_of_item() throws Exception {
+		LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+		LocalDateTime to = from.plusDays(10);
+		doAnswer(invocation -> {
+			Consumer<BusyIntervalDto> sink = invocation.getArgument(3);
+			sink.accept(new BusyIntervalDto(from.plusDays(1), from.plusDays(3)));
+			sink.accept(new BusyIntervalDto(from.plusDays(5), from.plusDays(6)));
+			return null;
+		}).when(itemService).streamBusyIntervals(eq(1L), eq(from), eq(to), any());
+
+		MvcResult result = mvc.perform(get(urlTemplate + "/{id}/availability", 1L)
+						.header(headerUserId, 2L)
+						.param("from", from.toString())
+						.param("to", to.toString()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.length()", is(2)))
+				.andExpect(jsonPath("$[0].start", is("2030-01-02T00:00:00")))
+				.andExpect(jsonPath("$[1].end", is("2030-01-07T00:00:00")));
+
+		verify(itemService).checkAvailabilityWindow(2L, 1L, from, to);
+	}
+
+	@Test
+	void should_not_stream_busy_intervals_when_window_is_invalid() throws Exception {
+		LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+		doThrow(new ValidationException("Начало периода должно быть раньше его окончания"))
+				.when(itemService).checkAvailabilityWindow(2L, 1L, from, from);
+
+		mvc.perform(get(urlTemplate + "/{id}/availability", 1L)
+						.header(headerUserId, 2L)
+						.param("from", from.toString())
+						.param("to", from.toString()))
+				.andExpect(status().isBadRequest());
+
+		verify(itemService, never()).streamBusyIntervals(anyLong(), any(), any(), any());
+	}
+
+	@Test
+	void should_stream_owner_items_as_ndjson() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<ItemDetailsDto> sink = invocation.getArgument(1);
+			sink.accept(makeItemDetailsDto(1L, "Дрель", "Ударная", true, null, null, List.of(), 2L, null));
+			sink.accept(makeItemDetailsDto(2L, "Пила", "Ручная", false, null, null, List.of(), 2L, null));
+			return null;
+		}).when(itemService).streamAll(eq(2L), any());
+
+		MvcResult result = mvc.perform(get(urlTemplate)
+						.header(headerUserId, 2L)
+						.accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String body = mvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		List<String> lines = body.lines().toList();
+		assertThat(lines, hasSize(2));
+		assertThat(mapper.readTree(lines.get(0)).get("name").asText(), is("Дрель"));
+		assertThat(mapper.readTree(lines.get(1)).get("id").asLong(), is(2L));
+		verify(itemService).checkOwnerListing(2L);
+		verify(itemService, never()).findAll(anyLong());
+	}
+
+	@Test
+	void should_return_ndjson_error_when_owner_not_found() throws Exception {
+		doThrow(new NotFoundException("Пользователь с id = 99 не найден")).when(itemService).checkOwnerListing(99L);
+
+		mvc.perform(get(urlTemplate)
+						.header(headerUserId, 99L)
+						.accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(status().isNotFound())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(jsonPath("$.error", is("Пользователь с id = 99 не найден")));
+
+		verify(itemService, never()).streamAll(anyLong(), any());
+	}
+
+	@Test
+	void should_pass_csv_import_body_and_charset_to_import_service() throws Exception {
+		String csv = "name,description,available\nДрель,Ударная,true\n";
+		when(itemImportService.importItems(eq(2L), eq(ItemImportFormat.CSV), any(), eq(StandardCharsets.UTF_8)))
+				.thenAnswer(invocation -> {
+					InputStream body = invocation.getArgument(2);
+					assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8), is(csv));
+					return new ItemImportResultDto(1, 1, List.of(new ItemImportErrorDto(3, 3, "Ошибка")));
+				});
+
+		mvc.perform(post(urlTemplate + "/import")
+						.header(headerUserId, 2L)
+						.contentType("text/csv;charset=UTF-8")
+						.content(csv.getBytes(StandardCharsets.UTF_8)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported", is(1)))
+				.andExpect(jsonPath("$.rejected", is(1)))
+				.andExpect(jsonPath("$.errors[0].fromLine", is(3)))
+				.andExpect(jsonPath("$.errors[0].message", is("Ошибка")));
+	}
+
+	@Test
+	void should_reject_import_in_unsupported_format() throws Exception {
+		mvc.perform(post(urlTemplate + "/import")
+						.header(headerUserId, 2L)
+						.contentType(MediaType.APPLICATION_XML)
+						.content("<items/>"))
+				.andExpect(status().isUnsupportedMediaType());
+
+		verify(itemImportService, never()).importItems(anyLong(), any(), any(), any());
+	}
+}
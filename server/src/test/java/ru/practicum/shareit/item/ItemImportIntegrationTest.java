@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDetailsDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.importing.ItemImportFormat;
+import ru.practicum.shareit.item.importing.ItemImportService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+		properties = {"spring.datasource.username=shareit", "shareit.items.import.batch-size=2"},
+		webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemImportIntegrationTest {
+	private final EntityManager em;
+	private final ItemImportService itemImportService;
+	private final ItemService itemService;
+
+	@BeforeEach
+	void setUp() {
+		em.createNativeQuery("INSERT INTO Users (id, name, email) VALUES (1, 'Ivan Ivanov', 'ivan@email');")
+				.executeUpdate();
+		Query requestQuery = em.createNativeQuery("INSERT INTO Requests (id, description, requestor_id, created) " +
+				"VALUES (5, 'description', 1, :created);");
+		requestQuery.setParameter("created", LocalDateTime.of(2024, 7, 3, 19, 30, 1));
+		requestQuery.executeUpdate();
+	}
+
+	@Test
+	void should_import_valid_ndjson_lines_and_report_rejected_ones() {
+		String body = String.join("\n",
+				"{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}",
+				"",
+				"{\"name\":\"Пила\",\"description\":",
+				"{\"description\":\"Без названия\",\"available\":true}",
+				"{\"name\":\"Молоток\",\"description\":\"Слесарный\",\"available\":false,\"requestId\":99}",
+				"{\"name\":\"Лестница\",\"description\":\"Стремянка\",\"available\":true,\"requestId\":5}",
+				"{\"name\":\"Тачка\",\"description\":\"Садовая\",\"available\":true}",
+				"");
+
+		ItemImportResultDto result = importItems(ItemImportFormat.NDJSON, body);
+
+		assertThat(result.getImported(), equalTo(3));
+		assertThat(result.getRejected(), equalTo(3));
+		assertThat(result.getErrors().stream().map(ItemImportErrorDto::getFromLine).toList(), contains(3L, 4L, 5L));
+		assertThat(result.getErrors().get(1).getMessage(), equalTo("Название не может быть пустым"));
+		assertThat(result.getErrors().get(2).getMessage(), equalTo("Запрос с id = 99 не найден"));
+
+		List<ItemDetailsDto> items = itemService.findAll(1L);
+		assertThat(items.stream().map(ItemDetailsDto::getName).toList(),
+				containsInAnyOrder("Дрель", "Лестница", "Тачка"));
+		assertThat(items.stream().map(ItemDetailsDto::getId).distinct().toList(), hasSize(3));
+		assertThat(items, hasItem(allOf(
+				hasProperty("name", equalTo("Лестница")),
+				hasProperty("requestId", equalTo(5L)))));
+	}
+
+	@Test
+	void should_import_csv_with_quoted_fields_by_header_columns() {
+		String body = """
+				available,name,description,requestId
+				true,"Дрель, ударная","Сверлит \"\"всё\"\"",
+				maybe,Пила,Ручная,
+				false,Лестница,Стремянка,5
+				""";
+
+		ItemImportResultDto result = importItems(ItemImportFormat.CSV, body);
+
+		assertThat(result.getImported(), equalTo(2));
+		assertThat(result.getErrors(), contains(allOf(
+				hasProperty("fromLine", equalTo(3L)),
+				hasProperty("message", startsWith("Поле available должно быть true или false")))));
+		assertThat(itemService.findAll(1L), hasItem(allOf(
+				hasProperty("name", equalTo("Дрель, ударная")),
+				hasProperty("description", equalTo("Сверлит \"всё\"")),
+				hasProperty("available", equalTo(true)))));
+	}
+
+	@Test
+	void should_reject_csv_without_required_column() {
+		assertThrows(ValidationException.class,
+				() -> importItems(ItemImportFormat.CSV, "name,available\nДрель,true\n"));
+	}
+
+	private ItemImportResultDto importItems(ItemImportFormat format, String body) {
+		return itemImportService.importItems(1L, format,
+				new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+	}
+}
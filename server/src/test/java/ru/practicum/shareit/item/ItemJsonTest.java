@@ -25,7 +25,7 @@ public class ItemJsonTest {
 	@Test
 	void should_serialize_item_dto_correctly() throws Exception {
 		final ItemDto itemDto =
-				new ItemDto(1L, "name", "description", Boolean.TRUE, 2L, 2L);
+				new ItemDto(1L, "name", "description", Boolean.TRUE, 2L, 2L, 0L);
 
 		JsonContent<ItemDto> result = itemJson.write(itemDto);
 
@@ -47,7 +47,7 @@ public class ItemJsonTest {
 
 		final ItemDetailsDto responseDto =
 				new ItemDetailsDto(1L, "name", "description",
-						Boolean.TRUE, now, nextDay, comments, 1L, 1L);
+						Boolean.TRUE, now, nextDay, comments, 1L, 1L, 0L);
 
 		JsonContent<ItemDetailsDto> result = advancedJson.write(responseDto);
 
@@ -22,7 +22,7 @@ public class ItemMapperTest {
 	private final LocalDateTime now = LocalDateTime.now();
 	private final LocalDateTime nextDay = LocalDateTime.now().plusDays(1);
 
-	private final User user = new User(1L, "john.doe@mail.com", "John Doe");
+	private final User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
 
 	private final CommentDto commentDto = new CommentDto(1L, "text", 1L, "John Doe", nextDay);
 	private final List<CommentDto> comments = List.of(commentDto);
@@ -34,32 +34,32 @@ public class ItemMapperTest {
 	private final UpdateItemRequest updEmptyItem =
 			new UpdateItemRequest(1L, "", "", null, 1L, 1L);
 	private final ItemDto dto =
-			new ItemDto(1L, "name", "description", Boolean.TRUE, 1L, 1L);
+			new ItemDto(1L, "name", "description", Boolean.TRUE, 1L, 1L, 0L);
 
 	private final ItemDetailsDto advItemDto =
 			new ItemDetailsDto(1L, "name", "description",
-					Boolean.TRUE, now, nextDay, comments, 1L, 1L);
+					Boolean.TRUE, now, nextDay, comments, 1L, 1L, 0L);
 	private final ItemDetailsDto advItemDtoNullDates =
 			new ItemDetailsDto(1L, "name", "description",
-					Boolean.TRUE, null, null, comments, 1L, 1L);
+					Boolean.TRUE, null, null, comments, 1L, 1L, 0L);
 
 	private final Item item =
-			new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
+			new Item(1L, "name", "description", Boolean.TRUE, user, 1L, 0L);
 	private final Comment comment =
-			new Comment(1L, "text", item, user, nextDay);
+			new Comment(1L, "text", item, user, nextDay, 0L);
 
 	private final CreateItemRequest newItemNoRequest =
 			new CreateItemRequest("name", "description", Boolean.TRUE, 1L, null);
 	private final Item itemNoRequest =
-			new Item(1L, "name", "description", Boolean.TRUE, user, null);
+			new Item(1L, "name", "description", Boolean.TRUE, user, null, 0L);
 	private final ItemDetailsDto advItemDtoNoRequest =
 			new ItemDetailsDto(1L, "name", "description",
-					Boolean.TRUE, now, nextDay, comments, 1L, null);
+					Boolean.TRUE, now, nextDay, comments, 1L, null, 0L);
 	private final ItemDetailsDto advItemDtoNullDatesNoRequest =
 			new ItemDetailsDto(1L, "name", "description",
-					Boolean.TRUE, null, null, comments, 1L, null);
+					Boolean.TRUE, null, null, comments, 1L, null, 0L);
 	private final ItemDto dtoNoRequest =
-			new ItemDto(1L, "name", "description", Boolean.TRUE, 1L, null);
+			new ItemDto(1L, "name", "description", Boolean.TRUE, 1L, null, 0L);
 
 	@Test
 	public void should_map_item_to_dto_correctly() {
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramIndexItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class ItemSearchEngineTest {
+	@Mock
+	private ItemRepository itemRepository;
+
+	private TrigramIndexItemSearchEngine searchEngine;
+
+	private MeterRegistry meterRegistry;
+
+	private final User owner = new User(1L, "user@mail.ru", "user", 0L);
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		searchEngine = new TrigramIndexItemSearchEngine(itemRepository, meterRegistry);
+	}
+
+	@Test
+	void should_find_items_by_substring_ignoring_case() {
+		save(1L, "Дрель", "Ударная дрель с аккумулятором", true);
+		save(2L, "Отвертка", "Аккумуляторная отвертка", true);
+		save(3L, "Лестница", "Стремянка на 5 ступеней", true);
+
+		assertEquals(List.of(2L, 1L), ids(searchEngine.search("АККУМ", 0, 10)));
+		assertEquals(List.of(1L), ids(searchEngine.search("рел", 0, 10)));
+		assertTrue(searchEngine.search("перфоратор", 0, 10).isEmpty());
+	}
+
+	@Test
+	void should_find_items_by_short_query() {
+		save(1L, "Дрель", "Ударная", true);
+		save(2L, "Пила", "Цепная", true);
+
+		assertEquals(List.of(2L), ids(searchEngine.search("ц", 0, 10)));
+	}
+
+	@Test
+	void should_rank_name_matches_before_description_matches() {
+		save(1L, "Набор ключей", "Пригодится для велосипеда", true);
+		save(2L, "Велосипед", "Горный", true);
+
+		assertEquals(List.of(2L, 1L), ids(searchEngine.search("велосипед", 0, 10)));
+	}
+
+	@Test
+	void should_return_requested_page() {
+		for (long id = 1; id <= 5; id++) {
+			save(id, "Палатка " + id, "Туристическая", true);
+		}
+
+		assertEquals(List.of(3L, 4L), ids(searchEngine.search("палатка", 2, 2)));
+	}
+
+	@Test
+	void should_not_find_unavailable_or_removed_items() {
+		save(1L, "Дрель", "Ударная", true);
+		save(2L, "Дрель", "Сломана", false);
+		save(3L, "Дрель", "Продана", true);
+		searchEngine.remove(3L);
+
+		assertEquals(List.of(1L), ids(searchEngine.search("дрель", 0, 10)));
+	}
+
+	@Test
+	void should_reindex_updated_item() {
+		Item item = save(1L, "Дрель", "Ударная", true);
+		item.setName("Перфоратор");
+		searchEngine.index(item);
+
+		assertTrue(searchEngine.search("дрель", 0, 10).isEmpty());
+		assertEquals(List.of(1L), ids(searchEngine.search("перфоратор", 0, 10)));
+	}
+
+	@Test
+	void should_answer_search_without_database() {
+		save(1L, "Дрель", "Ударная", true);
+
+		List<Item> found = searchEngine.search("дрель", 0, 10);
+
+		assertEquals(1, found.size());
+		assertEquals("Дрель", found.get(0).getName());
+		assertEquals(owner.getId(), found.get(0).getUser().getId());
+		verifyNoInteractions(itemRepository);
+	}
+
+	@Test
+	void should_rebuild_from_repository_page_by_page() {
+		List<Item> items = new ArrayList<>();
+		for (long id = 1; id <= 2500; id++) {
+			items.add(new Item(id, "Вещь " + id, id % 2 == 0 ? "Чётная" : "Нечётная", id != 4, owner, null, 0L));
+		}
+		when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+			Pageable page = invocation.getArgument(0);
+			int fromIndex = (int) page.getOffset();
+			int toIndex = Math.min(fromIndex + page.getPageSize(), items.size());
+			return new PageImpl<>(items.subList(fromIndex, toIndex), page, items.size());
+		});
+
+		searchEngine.rebuild();
+
+		assertEquals(List.of(2L, 6L), ids(searchEngine.search("чётная", 0, 2)));
+		assertEquals(2499.0, meterRegistry.get("shareit.search.index.items").gauge().value());
+		assertTrue(meterRegistry.get("shareit.search.index.memory").gauge().value() > 0);
+		assertEquals(1, meterRegistry.get("shareit.search.index.rebuild").timer().count());
+	}
+
+	@Test
+	void should_apply_changes_only_after_commit() {
+		Item item = save(1L, "Дрель", "Ударная", true);
+
+		List<TransactionSynchronization> committed = inTransaction(() -> {
+			item.setName("Перфоратор");
+			item.setVersion(1L);
+			searchEngine.index(item);
+			searchEngine.index(new Item(2L, "Дрель", "Новая", true, owner, null, 0L));
+		});
+		assertEquals(List.of(1L), ids(searchEngine.search("дрель", 0, 10)));
+		committed.forEach(TransactionSynchronization::afterCommit);
+		assertEquals(List.of(2L), ids(searchEngine.search("дрель", 0, 10)));
+		assertEquals(List.of(1L), ids(searchEngine.search("перфоратор", 0, 10)));
+
+		List<TransactionSynchronization> rolledBack = inTransaction(() -> searchEngine.remove(1L));
+		rolledBack.forEach(synchronization ->
+				synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		assertEquals(List.of(1L), ids(searchEngine.search("перфоратор", 0, 10)));
+	}
+
+	@Test
+	void should_not_replace_item_with_older_snapshot() {
+		searchEngine.index(new Item(1L, "Перфоратор", "Ударный", true, owner, null, 2L));
+
+		searchEngine.index(new Item(1L, "Дрель", "Ударная", true, owner, null, 1L));
+
+		assertEquals(List.of(1L), ids(searchEngine.search("перфоратор", 0, 10)));
+		assertTrue(searchEngine.search("дрель", 0, 10).isEmpty());
+	}
+
+	@Test
+	void should_lower_case_text_independently_of_default_locale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+		try {
+			save(1L, "DRILL KIT", "IMPACT", true);
+
+			assertEquals(List.of(1L), ids(searchEngine.search("drill", 0, 10)));
+			assertEquals(List.of(1L), ids(searchEngine.search("IMPACT", 0, 10)));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	// Синхронизации, зарегистрированные действием в транзакции, для ручного завершения
+	private static List<TransactionSynchronization> inTransaction(Runnable action) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			action.run();
+			return TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private Item save(Long id, String name, String description, boolean available) {
+		Item item = new Item(id, name, description, available, owner, null, 0L);
+		searchEngine.index(item);
+
+		return item;
+	}
+
+	private static List<Long> ids(List<Item> items) {
+		return items.stream().map(Item::getId).toList();
+	}
+}
@@ -8,16 +8,19 @@ import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.enums.Status;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CreateCommentRequest;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.ItemDetailsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +29,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.persistence.StatementCounter.countStatements;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -35,6 +39,7 @@ import static org.hamcrest.Matchers.*;
 class ItemServiceIntegrationTest {
 	private final EntityManager em;
 	private final ItemService itemService;
+	private final UserService userService;
 
 	private void createUserInDb() {
 		Query userQuery = em.createNativeQuery("INSERT INTO Users (id, name, email) " +
@@ -78,7 +83,7 @@ class ItemServiceIntegrationTest {
 		lastBookingQuery.setParameter("endDate",
 				LocalDateTime.of(2024, 7, 2, 19, 30, 15));
 		lastBookingQuery.setParameter("itemId", 1L);
-		lastBookingQuery.setParameter("status", Status.APPROVED);
+		lastBookingQuery.setParameter("status", Status.APPROVED.name());
 		lastBookingQuery.setParameter("bookerId", 1L);
 		lastBookingQuery.executeUpdate();
 	}
@@ -93,11 +98,24 @@ class ItemServiceIntegrationTest {
 		nextBookingQuery.setParameter("endDate",
 				LocalDateTime.of(2025, 6, 2, 19, 30, 15));
 		nextBookingQuery.setParameter("itemId", 1L);
-		nextBookingQuery.setParameter("status", Status.APPROVED);
+		nextBookingQuery.setParameter("status", Status.APPROVED.name());
 		nextBookingQuery.setParameter("bookerId", 1L);
 		nextBookingQuery.executeUpdate();
 	}
 
+	private void createBookingInDb(Long id, LocalDateTime start, LocalDateTime end, Status status) {
+		Query bookingQuery =
+				em.createNativeQuery("INSERT INTO Bookings (id, start_date, end_date, item_id, status, booker_id) " +
+						"VALUES (:id , :startDate , :endDate , :itemId , :status , :bookerId);");
+		bookingQuery.setParameter("id", id);
+		bookingQuery.setParameter("startDate", start);
+		bookingQuery.setParameter("endDate", end);
+		bookingQuery.setParameter("itemId", 1L);
+		bookingQuery.setParameter("status", status.name());
+		bookingQuery.setParameter("bookerId", 1L);
+		bookingQuery.executeUpdate();
+	}
+
 	private void createCommentInDb() {
 		Query commentQuery = em.createNativeQuery("INSERT INTO Comments (id, text, item_id, author_id, created) " +
 				"VALUES (:id , :text , :item_id , :author_id , :created);");
@@ -182,6 +200,27 @@ class ItemServiceIntegrationTest {
 		assertThat(loadItem.getRequestId(), CoreMatchers.notNullValue());
 	}
 
+	@Test
+	void should_find_item_details_in_two_statements() {
+		createUserInDb();
+		createItemInDb();
+		createBookingInDb(1L, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2), Status.APPROVED);
+		createBookingInDb(2L, LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3), Status.APPROVED);
+		createCommentInDb();
+		Query secondCommentQuery = em.createNativeQuery("INSERT INTO Comments (id, text, item_id, author_id, created) " +
+				"VALUES (2, 'text2', 1, 1, CURRENT_TIMESTAMP);");
+		secondCommentQuery.executeUpdate();
+
+		ItemDetailsDto[] loadItem = new ItemDetailsDto[1];
+		long statements = countStatements(em, () -> loadItem[0] = itemService.findItemById(1L, 1L));
+
+		assertThat(statements, equalTo(2L));
+		assertThat(loadItem[0].getLastBooking(), notNullValue());
+		assertThat(loadItem[0].getNextBooking(), notNullValue());
+		assertThat(loadItem[0].getComments(), hasSize(2));
+		assertThat(loadItem[0].getComments(), everyItem(hasProperty("authorName", equalTo("Ivan Ivanov"))));
+	}
+
 	@Test
 	void should_find_item_by_id_without_booking_dates() {
 		createUserInDb();
@@ -263,6 +302,87 @@ class ItemServiceIntegrationTest {
 		}
 	}
 
+	@Test
+	void should_find_all_items_with_latest_and_nearest_booking_dates() {
+		createUserInDb();
+		createRequestInDb(1L, 1L);
+		createItemInDb();
+		Query secondItemQuery = em.createNativeQuery("INSERT INTO Items (id, name, description, available, owner_id) " +
+				"VALUES (2, 'name2', 'description2', true, 1);");
+		secondItemQuery.executeUpdate();
+
+		LocalDateTime now = LocalDateTime.now().withNano(0);
+		createBookingInDb(1L, now.minusDays(10), now.minusDays(9), Status.APPROVED);
+		createBookingInDb(2L, now.minusDays(5), now.minusDays(4), Status.APPROVED);
+		createBookingInDb(3L, now.minusDays(3), now.minusDays(2), Status.REJECTED);
+		createBookingInDb(4L, now.plusDays(7), now.plusDays(8), Status.APPROVED);
+		createBookingInDb(5L, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+		createBookingInDb(6L, now.plusDays(1), now.plusDays(2), Status.WAITING);
+
+		List<ItemDetailsDto> items = itemService.findAll(1L);
+
+		assertThat(items, hasSize(2));
+		assertThat(items, hasItem(allOf(
+				hasProperty("id", equalTo(1L)),
+				hasProperty("lastBooking", equalTo(now.minusDays(4))),
+				hasProperty("nextBooking", equalTo(now.plusDays(2)))
+		)));
+		assertThat(items, hasItem(allOf(
+				hasProperty("id", equalTo(2L)),
+				hasProperty("lastBooking", nullValue()),
+				hasProperty("nextBooking", nullValue())
+		)));
+	}
+
+	@Test
+	void should_stream_merged_busy_intervals_clipped_to_window() {
+		createUserInDb();
+		createRequestInDb(1L, 1L);
+		createItemInDb();
+
+		LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+		LocalDateTime to = from.plusDays(10);
+		createBookingInDb(1L, from.minusDays(1), from.plusDays(1), Status.APPROVED);
+		createBookingInDb(2L, from.plusDays(1), from.plusDays(2), Status.WAITING);
+		createBookingInDb(3L, from.plusDays(4), from.plusDays(6), Status.APPROVED);
+		createBookingInDb(4L, from.plusDays(5), from.plusDays(7), Status.WAITING);
+		createBookingInDb(5L, from.plusDays(8), from.plusDays(9), Status.REJECTED);
+		createBookingInDb(6L, from.plusDays(9), from.plusDays(12), Status.APPROVED);
+
+		List<BusyIntervalDto> busy = new ArrayList<>();
+		itemService.checkAvailabilityWindow(1L, 1L, from, to);
+		itemService.streamBusyIntervals(1L, from, to, busy::add);
+
+		assertThat(busy, contains(
+				new BusyIntervalDto(from, from.plusDays(2)),
+				new BusyIntervalDto(from.plusDays(4), from.plusDays(7)),
+				new BusyIntervalDto(from.plusDays(9), to)));
+	}
+
+	@Test
+	void should_stream_all_owner_items_across_chunks_in_id_order() {
+		createUserInDb();
+		createRequestInDb(1L, 1L);
+		createItemInDb();
+		Query itemQuery = em.createNativeQuery("INSERT INTO Items (id, name, description, available, owner_id) " +
+				"VALUES (:id , 'name', 'description', true, 1);");
+		for (long id = 2; id <= 1201; id++) {
+			itemQuery.setParameter("id", id).executeUpdate();
+		}
+		createLastBookingInDb();
+
+		List<ItemDetailsDto> items = new ArrayList<>();
+		itemService.checkOwnerListing(1L);
+		itemService.streamAll(1L, items::add);
+
+		assertThat(items, hasSize(1201));
+		assertThat(items.getFirst().getLastBooking(), notNullValue());
+		assertThat(items.getLast().getId(), equalTo(1201L));
+		for (int i = 1; i < items.size(); i++) {
+			assertThat(items.get(i).getId(), greaterThan(items.get(i - 1).getId()));
+		}
+	}
+
 	@Test
 	void should_find_items_by_booker() {
 		createUserInDb();
@@ -296,7 +416,16 @@ class ItemServiceIntegrationTest {
 			bookingQuery.executeUpdate();
 		}
 
-		Collection<ItemDto> loadRequests = itemService.findItemsByBooker(1L, "cript");
+		// Поисковый индекс в памяти видит вещи только после фиксации транзакции
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+
+		Collection<ItemDto> loadRequests;
+		try {
+			loadRequests = itemService.findItemsByBooker(1L, "cript", 0, 10);
+		} finally {
+			deleteCommitted(itemIds);
+		}
 
 		assertThat(loadRequests, hasSize(items.size()));
 		for (CreateItemRequest item : items) {
@@ -311,6 +440,16 @@ class ItemServiceIntegrationTest {
 		}
 	}
 
+	private void deleteCommitted(List<Long> itemIds) {
+		TestTransaction.start();
+		em.createNativeQuery("DELETE FROM Bookings").executeUpdate();
+		itemIds.forEach(itemId -> itemService.delete(1L, itemId));
+		em.createNativeQuery("DELETE FROM Requests").executeUpdate();
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		userService.delete(1L);
+	}
+
 	@Test
 	void should_add_comment() {
 		createUserInDb();
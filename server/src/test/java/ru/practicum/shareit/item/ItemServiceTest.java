@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.NotBookedException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.NotOwnerException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CreateCommentRequest;
 import ru.practicum.shareit.item.dto.CreateItemRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.RequestRepository;
@@ -26,6 +29,7 @@ import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.util.ArrayList;
@@ -37,6 +41,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.user.UserLookupStubs.stubUserLookup;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 @ExtendWith(MockitoExtension.class)
@@ -53,12 +58,23 @@ class ItemServiceTest {
 	@Mock
 	private RequestRepository requestRepository;
 
+	@Mock
+	private ItemSearchEngine itemSearchEngine;
+
 	@InjectMocks
 	private ItemServiceImpl itemService;
 
+	@Mock
+	private UserService cachedUserService;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
+	@BeforeEach
+	void setUpUserLookup() {
+		stubUserLookup(cachedUserService, userRepository);
+	}
+
 	@Test
 	void should_create_item_successfully() {
 		Long ownerId = 1L;
@@ -67,8 +83,8 @@ class ItemServiceTest {
 		CreateItemRequest request =
 				new CreateItemRequest("name", "description", true, ownerId, requestId);
 
-		User owner = new User(ownerId, "email", "name");
-		Item item = new Item(1L, "name", "description", true, owner, requestId);
+		User owner = new User(ownerId, "email", "name", 0L);
+		Item item = new Item(1L, "name", "description", true, owner, requestId, 0L);
 		ItemDto expectedDto = ItemMapper.mapToItemDto(item);
 
 		when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
@@ -83,7 +99,7 @@ class ItemServiceTest {
 		assertEquals(ownerId, result.getOwnerId());
 		assertEquals(requestId, result.getRequestId());
 
-		verify(userRepository).findById(ownerId);
+		verify(cachedUserService).getReference(ownerId);
 		verify(requestRepository).findById(eq(requestId));
 		verify(itemRepository).save(any(Item.class));
 	}
@@ -98,16 +114,16 @@ class ItemServiceTest {
 		CreateUserRequest newUser = new CreateUserRequest("john.doe@mail.com", "John Doe");
 
 		when(userRepository.findByEmail(newUser.getEmail())).thenReturn(Optional.empty());
-		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe"));
+		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe", 0L));
 
 		UserDto userDto = userService.create(newUser);
-		User user = new User(1L, "john.doe@mail.com", "John Doe");
+		User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
 
 		when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 
 		CreateItemRequest newItem =
 				new CreateItemRequest("name", "description", Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
 
 		ItemDto findItem = itemService.create(1L, newItem);
@@ -132,16 +148,16 @@ class ItemServiceTest {
 		CreateUserRequest newUser = new CreateUserRequest("john.doe@mail.com", "John Doe");
 
 		when(userRepository.findByEmail(newUser.getEmail())).thenReturn(Optional.empty());
-		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe"));
+		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe", 0L));
 
 		UserDto userDto = userService.create(newUser);
-		User user = new User(1L, "john.doe@mail.com", "John Doe");
+		User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
 
 		when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 
 		CreateItemRequest newItem = new CreateItemRequest("name", "description",
 				Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
 
 		ItemDto findItem = itemService.create(1L, newItem);
@@ -163,16 +179,16 @@ class ItemServiceTest {
 		CreateUserRequest newUser = new CreateUserRequest("john.doe@mail.com", "John Doe");
 
 		when(userRepository.findByEmail(newUser.getEmail())).thenReturn(Optional.empty());
-		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe"));
+		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe", 0L));
 
 		UserDto userDto = userService.create(newUser);
-		User user = new User(1L, "john.doe@mail.com", "John Doe");
+		User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
 
 		when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 
 		CreateItemRequest newItem = new CreateItemRequest("name", "description",
 				Boolean.TRUE, 1L, 1L);
-		Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
+		Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L, 0L);
 		when(itemRepository.save(any())).thenReturn(item);
 
 		ItemDto findItem = itemService.create(1L, newItem);
@@ -188,7 +204,7 @@ class ItemServiceTest {
 
 	@Test
 	void should_return_empty_list_when_search_text_blank() {
-		Collection<ItemDto> items = itemService.findItemsByBooker(1L, null);
+		Collection<ItemDto> items = itemService.findItemsByBooker(1L, null, 0, 10);
 
 		assertEquals(items, new ArrayList<>());
 	}
@@ -247,12 +263,12 @@ class ItemServiceTest {
 	@Test
 	void should_update_item_successfully() {
 		Long ownerId = 1L;
-		User user = new User(ownerId, "email", "name");
-		Item item = new Item(1L, "old", "oldDesc", true, user, null);
+		User user = new User(ownerId, "email", "name", 0L);
+		Item item = new Item(1L, "old", "oldDesc", true, user, null, 0L);
 
 		when(userRepository.findById(ownerId)).thenReturn(Optional.of(user));
 		when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-		when(itemRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(itemRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
 		UpdateItemRequest request = mock(UpdateItemRequest.class);
 		when(request.getName()).thenReturn("newName");
@@ -273,14 +289,23 @@ class ItemServiceTest {
 	@Test
 	void should_return_items_by_text() {
 		String text = "поиск";
-		User user = new User(1L, "email", "name");
-		Item item = new Item(1L, "поиск", "описание", true, user, null);
+		User user = new User(1L, "email", "name", 0L);
+		Item item = new Item(1L, "поиск", "описание", true, user, null, 0L);
 		List<Item> items = List.of(item);
 
-		when(itemRepository.findItemsByText(text)).thenReturn(items);
+		when(itemSearchEngine.search(text, 0, 10)).thenReturn(items);
 
-		List<ItemDto> results = itemService.findItemsByBooker(1L, text);
+		List<ItemDto> results = itemService.findItemsByBooker(1L, text, 0, 10);
 		assertEquals(1, results.size());
 		assertEquals("поиск", results.get(0).getName());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void should_throw_validation_exception_when_search_page_size_not_positive() {
+		ValidationException thrown = assertThrows(ValidationException.class,
+				() -> itemService.findItemsByBooker(1L, "поиск", 0, 0));
+
+		assertEquals("Размер страницы должен быть положительным", thrown.getMessage());
+		verify(itemSearchEngine, never()).search(anyString(), anyInt(), anyInt());
+	}
+}
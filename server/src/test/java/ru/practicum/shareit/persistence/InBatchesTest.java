@@ -0,0 +1,63 @@
+package ru.practicum.shareit.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InBatchesTest {
+
+	@Test
+	void should_not_query_for_empty_ids() {
+		List<List<Long>> batches = new ArrayList<>();
+
+		List<Long> result = InBatches.query(List.<Long>of(), ids -> {
+			batches.add(ids);
+			return ids;
+		});
+
+		assertThat(result, empty());
+		assertThat(batches, empty());
+	}
+
+	@Test
+	void should_split_ids_into_batches_and_join_results_in_order() {
+		List<List<Long>> batches = new ArrayList<>();
+
+		List<Long> result = InBatches.query(List.of(1L, 2L, 3L, 4L, 5L), 2, ids -> {
+			batches.add(ids);
+			return ids.stream().map(id -> id * 10).toList();
+		});
+
+		assertThat(batches, contains(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)));
+		assertThat(result, contains(10L, 20L, 30L, 40L, 50L));
+	}
+
+	@Test
+	void should_query_each_id_once() {
+		List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+		List<Long> withDuplicates = new ArrayList<>(ids);
+		withDuplicates.addAll(ids);
+		List<List<Long>> batches = new ArrayList<>();
+
+		List<Long> result = InBatches.query(withDuplicates, batch -> {
+			batches.add(batch);
+			return batch;
+		});
+
+		assertThat(batches.stream().map(List::size).toList(), contains(1000, 1000, 500));
+		assertThat(result, hasSize(2500));
+	}
+
+	@Test
+	void should_reject_non_positive_batch_size() {
+		assertThrows(IllegalArgumentException.class, () -> InBatches.query(List.of(1L), 0, ids -> ids));
+	}
+}
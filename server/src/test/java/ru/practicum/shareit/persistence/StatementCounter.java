@@ -0,0 +1,28 @@
+package ru.practicum.shareit.persistence;
+
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Число SQL-запросов, подготовленных Hibernate за время действия. Контекст сохраняемости сбрасывается
+ * и очищается заранее, чтобы действие не брало сущности из кэша первого уровня.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StatementCounter {
+
+	public static long countStatements(EntityManager em, Runnable action) {
+		em.flush();
+		em.clear();
+		Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		action.run();
+		long count = statistics.getPrepareStatementCount();
+		statistics.setStatisticsEnabled(false);
+
+		return count;
+	}
+}
@@ -162,11 +162,13 @@ class ItemRequestControllerTest {
 
 		List<ItemRequestDto> newRequests = List.of(requestDto1, requestDto2);
 
-		when(itemRequestService.findAllOfAnotherRequestors(anyLong())).thenReturn(newRequests);
+		when(itemRequestService.findAllOfAnotherRequestors(1L, 0, 2, 7L)).thenReturn(newRequests);
 
 		mvc.perform(get(urlTemplate + "/all")
 						.characterEncoding(StandardCharsets.UTF_8)
 						.header(headerUserId, 1L)
+						.param("size", "2")
+						.param("after", "7")
 						.contentType(MediaType.APPLICATION_JSON)
 						.accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk())
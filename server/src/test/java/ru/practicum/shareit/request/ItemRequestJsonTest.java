@@ -28,7 +28,7 @@ public class ItemRequestJsonTest {
 		final ResponseDto responseDto = new ResponseDto(1L, "name", 1L);
 		final List<ResponseDto> items = List.of(responseDto);
 		final ItemRequestDto itemRequestDto =
-				new ItemRequestDto(1L, "description", 1L, now, items);
+				new ItemRequestDto(1L, "description", 1L, now, items, 0L);
 
 		JsonContent<ItemRequestDto> result = requestJson.write(itemRequestDto);
 
@@ -20,19 +20,19 @@ import static org.hamcrest.Matchers.equalTo;
 public class ItemRequestMapperTest {
 	private final LocalDateTime now = LocalDateTime.now();
 
-	private final User user = new User(1L, "john.doe@mail.com", "John Doe");
-	private final Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
+	private final User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
+	private final Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L, 0L);
 
 	private final CreateRequest createRequest = new CreateRequest("description", 1L);
 	private final UpdateRequest updRequest = new UpdateRequest(1L, "description", 1L, now);
-	private final ItemRequest itemRequest = new ItemRequest(1L, "description", user, now);
+	private final ItemRequest itemRequest = new ItemRequest(1L, "description", user, now, 0L);
 
 	private final ResponseDto responseDto = new ResponseDto(1L, "name", 1L);
 	private final List<ResponseDto> items = List.of(responseDto);
 	private final ItemRequestDto dtoWithComments =
-			new ItemRequestDto(1L, "description", 1L, now, items);
+			new ItemRequestDto(1L, "description", 1L, now, items, 0L);
 	private final ItemRequestDto dto =
-			new ItemRequestDto(1L, "description", 1L, now, Collections.emptyList());
+			new ItemRequestDto(1L, "description", 1L, now, Collections.emptyList(), 0L);
 
 	@Test
 	public void should_map_item_request_to_dto_correctly() {
@@ -11,6 +11,7 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.dto.CreateRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.UpdateRequest;
@@ -25,6 +26,7 @@ import java.util.List;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -161,7 +163,7 @@ class ItemRequestServiceIntegrationTest {
 			itemRequestService.create(1L, itemRequest);
 		}
 
-		Collection<ItemRequestDto> loadRequests = itemRequestService.findAllOfAnotherRequestors(2L);
+		Collection<ItemRequestDto> loadRequests = itemRequestService.findAllOfAnotherRequestors(2L, 0, 10, null);
 
 		assertThat(loadRequests, hasSize(itemRequests.size()));
 		for (CreateRequest itemRequest : itemRequests) {
@@ -174,4 +176,39 @@ class ItemRequestServiceIntegrationTest {
 			)));
 		}
 	}
+
+	@Test
+	void should_page_other_requestors_feed_by_created_and_id_with_answering_items() {
+		createUserInDb();
+		LocalDateTime created = LocalDateTime.of(2024, 7, 3, 19, 30, 1);
+		Query requestQuery = em.createNativeQuery("INSERT INTO Requests (id, description, requestor_id, created) " +
+				"VALUES (:id , 'description', :requestor_id , :created);");
+		requestQuery.setParameter("id", 1L).setParameter("requestor_id", 1L).setParameter("created", created)
+				.executeUpdate();
+		requestQuery.setParameter("id", 2L).setParameter("requestor_id", 1L).setParameter("created", created)
+				.executeUpdate();
+		requestQuery.setParameter("id", 3L).setParameter("requestor_id", 1L)
+				.setParameter("created", created.minusDays(1)).executeUpdate();
+		em.createNativeQuery("INSERT INTO Items (id, name, description, available, owner_id, request_id) " +
+				"VALUES (1, 'name', 'description', true, 1, 1);").executeUpdate();
+
+		List<ItemRequestDto> firstPage = itemRequestService.findAllOfAnotherRequestors(2L, 0, 2, null);
+		List<ItemRequestDto> nextPage =
+				itemRequestService.findAllOfAnotherRequestors(2L, 0, 2, firstPage.getLast().getId());
+
+		assertThat(firstPage.stream().map(ItemRequestDto::getId).toList(), contains(2L, 1L));
+		assertThat(firstPage.getLast().getItems(), hasSize(1));
+		assertThat(nextPage.stream().map(ItemRequestDto::getId).toList(), contains(3L));
+		assertThat(itemRequestService.findAllOfAnotherRequestors(1L, 0, 10, null), empty());
+	}
+
+	@Test
+	void should_fail_other_requestors_feed_when_from_not_multiple_of_page_size() {
+		createUserInDb();
+
+		ValidationException thrown = assertThrows(ValidationException.class, () ->
+				itemRequestService.findAllOfAnotherRequestors(1L, 1, 2, null));
+
+		assertThat(thrown.getMessage(), equalTo("Индекс первого элемента должен быть кратен размеру страницы"));
+	}
 }
\ No newline at end of file
@@ -1,30 +1,45 @@
 package ru.practicum.shareit.request;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ResponseDto;
 import ru.practicum.shareit.request.dto.UpdateRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.user.UserLookupStubs.stubUserLookup;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 @ExtendWith(MockitoExtension.class)
@@ -35,12 +50,23 @@ class ItemRequestServiceTest {
 	@Mock
 	private UserRepository userRepository;
 
+	@Mock
+	private ItemRepository itemRepository;
+
 	@InjectMocks
 	private ItemRequestServiceImpl itemRequestService;
 
+	@Mock
+	private UserService cachedUserService;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
+	@BeforeEach
+	void setUpUserLookup() {
+		stubUserLookup(cachedUserService, userRepository);
+	}
+
 	@Test
 	void should_fail_update_item_request_when_email_already_exists() {
 		UpdateRequest updItemRequest = new UpdateRequest(1L, "description1", 1L,
@@ -49,12 +75,12 @@ class ItemRequestServiceTest {
 		CreateUserRequest newUser = new CreateUserRequest("john.doe@mail.com", "John Doe");
 
 		when(userRepository.findByEmail(newUser.getEmail())).thenReturn(Optional.empty());
-		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe"));
+		when(userRepository.save(any())).thenReturn(new User(1L, "john.doe@mail.com", "John Doe", 0L));
 
 		UserDto userDto = userService.create(newUser);
 
 		when(userRepository.findById(anyLong()))
-				.thenReturn(Optional.of(new User(1L, "john.doe@mail.com", "John Doe")));
+				.thenReturn(Optional.of(new User(1L, "john.doe@mail.com", "John Doe", 0L)));
 
 		updItemRequest.setId(null);
 
@@ -64,4 +90,57 @@ class ItemRequestServiceTest {
 
 		assertEquals("ID запроса должен быть указан", thrown.getMessage());
 	}
+
+	@Test
+	void should_attach_answers_to_feed_page_in_bounded_in_lists() {
+		LocalDateTime created = LocalDateTime.of(2024, 7, 3, 19, 30, 1);
+		List<ItemRequestSummary> page = LongStream.rangeClosed(1, 2500)
+				.mapToObj(id -> (ItemRequestSummary) new Summary(id, "description", 2L, created, 0L))
+				.toList();
+		when(requestRepository.findAllOfOtherRequestors(eq(1L), any(Pageable.class))).thenReturn(page);
+		User owner = new User(3L, "owner@mail.com", "Owner", 0L);
+		when(itemRepository.findByRequestIdIn(any())).thenAnswer(invocation -> {
+			List<Long> ids = invocation.getArgument(0);
+			return ids.contains(2500L)
+					? List.of(new Item(7L, "name", "description", true, owner, 2500L, 0L))
+					: List.of();
+		});
+
+		List<ItemRequestDto> requests = itemRequestService.findAllOfAnotherRequestors(1L, 0, 2500, null);
+
+		ArgumentCaptor<List<Long>> ids = ArgumentCaptor.captor();
+		verify(itemRepository, times(3)).findByRequestIdIn(ids.capture());
+		assertEquals(List.of(1000, 1000, 500), ids.getAllValues().stream().map(List::size).toList());
+		assertEquals(2500, requests.size());
+		assertEquals(List.of(7L), requests.getLast().getItems().stream().map(ResponseDto::getId).toList());
+		assertEquals(2L, requests.getFirst().getRequestorId());
+	}
+
+	private record Summary(Long id, String description, Long requestorId, LocalDateTime created, long version)
+			implements ItemRequestSummary {
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public String getDescription() {
+			return description;
+		}
+
+		@Override
+		public Long getRequestorId() {
+			return requestorId;
+		}
+
+		@Override
+		public LocalDateTime getCreated() {
+			return created;
+		}
+
+		@Override
+		public long getVersion() {
+			return version;
+		}
+	}
 }
\ No newline at end of file
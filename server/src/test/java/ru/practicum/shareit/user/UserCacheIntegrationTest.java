@@ -0,0 +1,90 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CreateItemRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.CreateUserRequest;
+import ru.practicum.shareit.user.dto.UpdateUserRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Без @Transactional: кэш заполняется и очищается только после фиксации транзакции
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+		properties = "spring.datasource.username=shareit",
+		webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UserCacheIntegrationTest {
+	private final UserService userService;
+	private final ItemService itemService;
+	private final MeterRegistry meterRegistry;
+
+	@SpyBean
+	private UserRepository userRepository;
+
+	@Test
+	void should_read_user_from_cache_until_update_or_delete() {
+		UserDto created = userService.create(new CreateUserRequest("cached@email", "Cached User"));
+		Long userId = created.getId();
+		try {
+			userService.findById(userId);
+			UserDto cached = userService.findById(userId);
+
+			assertThat(cached.getName(), equalTo("Cached User"));
+			verify(userRepository, times(1)).findById(userId);
+			assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+					.functionCounter().count(), greaterThanOrEqualTo(1.0));
+
+			userService.update(userId, new UpdateUserRequest(userId, null, "Renamed User"));
+
+			assertThat(userService.findById(userId).getName(), equalTo("Renamed User"));
+		} finally {
+			userService.delete(userId);
+		}
+
+		assertThrows(NotFoundException.class, () -> userService.findById(userId));
+	}
+
+	@Test
+	void should_check_owner_once_for_repeated_item_creation() {
+		Long ownerId = userService.create(new CreateUserRequest("owner@email", "Owner")).getId();
+		ItemDto first = null;
+		ItemDto second = null;
+		try {
+			clearInvocations(userRepository);
+			first = itemService.create(ownerId, new CreateItemRequest("Дрель", "Ударная", true, null, null));
+			second = itemService.create(ownerId, new CreateItemRequest("Пила", "Ручная", true, null, null));
+
+			// Второй вызов не делает запросов о пользователе: id владельца уже в кэше
+			verify(userRepository, times(1)).existsById(ownerId);
+			verify(userRepository, never()).findById(anyLong());
+		} finally {
+			if (first != null) {
+				itemService.delete(ownerId, first.getId());
+			}
+			if (second != null) {
+				itemService.delete(ownerId, second.getId());
+			}
+			userService.delete(ownerId);
+		}
+
+		assertThrows(NotFoundException.class, () -> userService.getReference(ownerId));
+	}
+}
@@ -16,7 +16,7 @@ public class UserJsonTest {
 
 	@Test
 	void should_serialize_user_dto_correctly() throws Exception {
-		UserDto userDto = new UserDto(1L, "ivan@email", "Ivan Ivanov");
+		UserDto userDto = new UserDto(1L, "ivan@email", "Ivan Ivanov", 0L);
 
 		JsonContent<UserDto> result = json.write(userDto);
 
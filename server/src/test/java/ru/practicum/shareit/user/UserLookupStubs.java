@@ -0,0 +1,27 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Заглушка UserService.getReference для модульных тестов сервисов: пользователь существует, если его
+ * возвращает заглушка UserRepository.findById теста.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class UserLookupStubs {
+
+	public static void stubUserLookup(UserService userService, UserRepository userRepository) {
+		when(userService.getReference(anyLong())).thenAnswer(invocation -> {
+			Long userId = invocation.getArgument(0);
+
+			return userRepository.findById(userId)
+					.orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
+		});
+	}
+}
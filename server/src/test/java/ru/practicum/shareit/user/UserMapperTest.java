@@ -14,8 +14,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class UserMapperTest {
 	private final CreateUserRequest newUser = new CreateUserRequest("john.doe@mail.com", "John Doe");
 	private final UpdateUserRequest updUser = new UpdateUserRequest(1L, "john.doe@mail.com", "John Doe");
-	private final User user = new User(1L, "john.doe@mail.com", "John Doe");
-	private final UserDto dto = new UserDto(1L, "john.doe@mail.com", "John Doe");
+	private final User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
+	private final UserDto dto = new UserDto(1L, "john.doe@mail.com", "John Doe", 0L);
 
 	private final UpdateUserRequest emptyUpdUser = new UpdateUserRequest(1L, "", "");
 
@@ -51,7 +51,7 @@ public class UserMapperTest {
 
 	@Test
 	void should_not_update_user_when_fields_are_null() {
-		User user = new User(1L, "initial@mail.com", "Initial Name");
+		User user = new User(1L, "initial@mail.com", "Initial Name", 0L);
 		UpdateUserRequest request = new UpdateUserRequest(1L, null, null);
 
 		User result = UserMapper.updateUser(user, request);
@@ -62,7 +62,7 @@ public class UserMapperTest {
 
 	@Test
 	void should_not_update_email_if_same_as_existing() {
-		User user = new User(1L, "same@mail.com", "Name");
+		User user = new User(1L, "same@mail.com", "Name", 0L);
 		UpdateUserRequest request = new UpdateUserRequest(1L, "same@mail.com", "Updated Name");
 
 		User result = UserMapper.updateUser(user, request);
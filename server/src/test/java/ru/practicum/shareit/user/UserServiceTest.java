@@ -4,9 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import ru.practicum.shareit.exception.DuplicateEmailException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserCacheConfig;
 import ru.practicum.shareit.user.dto.CreateUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -27,13 +31,16 @@ class UserServiceTest {
 	@Mock
 	private UserRepository userRepository;
 
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(UserCacheConfig.USERS, UserCacheConfig.USER_IDS);
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
 	@Test
 	void should_create_user_successfully() {
 		CreateUserRequest request = new CreateUserRequest("john.doe@mail.com", "John Doe");
-		User user = new User(1L, request.getEmail(), request.getName());
+		User user = new User(1L, request.getEmail(), request.getName(), 0L);
 
 		when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
 		when(userRepository.save(any())).thenReturn(user);
@@ -86,7 +93,7 @@ class UserServiceTest {
 	@Test
 	void should_update_user_successfully() {
 		Long userId = 1L;
-		User existingUser = new User(userId, "old@mail.com", "Old Name");
+		User existingUser = new User(userId, "old@mail.com", "Old Name", 0L);
 
 		UpdateUserRequest request = new UpdateUserRequest(userId, "new@mail.com", "New Name");
 
@@ -108,7 +115,7 @@ class UserServiceTest {
 
 		UpdateUserRequest updateRequest = new UpdateUserRequest(userId, newEmail, "New Name");
 
-		User existingUser = new User(userId, "old@mail.com", "Old Name");
+		User existingUser = new User(userId, "old@mail.com", "Old Name", 0L);
 		when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
 
 		when(userRepository.existsByEmail(newEmail)).thenReturn(true);
@@ -134,7 +141,7 @@ class UserServiceTest {
 	@Test
 	void should_fail_update_user_when_name_is_blank() {
 		Long userId = 1L;
-		User existingUser = new User(userId, "old@mail.com", "Old Name");
+		User existingUser = new User(userId, "old@mail.com", "Old Name", 0L);
 		UpdateUserRequest request = new UpdateUserRequest(userId, "new@mail.com", " ");
 
 		when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
@@ -145,7 +152,7 @@ class UserServiceTest {
 	@Test
 	void should_fail_update_user_when_email_is_blank() {
 		Long userId = 1L;
-		User existingUser = new User(userId, "old@mail.com", "Old Name");
+		User existingUser = new User(userId, "old@mail.com", "Old Name", 0L);
 		UpdateUserRequest request = new UpdateUserRequest(userId, " ", "New Name");
 
 		when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
@@ -156,7 +163,7 @@ class UserServiceTest {
 	@Test
 	void should_delete_user_successfully() {
 		Long userId = 1L;
-		User user = new User(userId, "mail@mail.com", "User");
+		User user = new User(userId, "mail@mail.com", "User", 0L);
 
 		when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 		doNothing().when(userRepository).deleteById(userId);
@@ -176,8 +183,8 @@ class UserServiceTest {
 	@Test
 	void should_return_all_users() {
 		List<User> users = List.of(
-				new User(1L, "a@mail.com", "Alice"),
-				new User(2L, "b@mail.com", "Bob")
+				new User(1L, "a@mail.com", "Alice", 0L),
+				new User(2L, "b@mail.com", "Bob", 0L)
 		);
 
 		when(userRepository.findAll()).thenReturn(users);
@@ -186,4 +193,46 @@ class UserServiceTest {
 
 		assertEquals(2, result.size());
 	}
+
+	@Test
+	void should_get_reference_to_cached_user_without_query() {
+		User user = new User(1L, "john.doe@mail.com", "John Doe", 0L);
+		cacheManager.getCache(UserCacheConfig.USERS).put(1L, new UserDto(1L, user.getEmail(), user.getName(), 0L));
+		when(userRepository.getReferenceById(1L)).thenReturn(user);
+
+		assertSame(user, userService.getReference(1L));
+		verify(userRepository, never()).existsById(anyLong());
+	}
+
+	@Test
+	void should_check_existence_without_loading_user_on_cache_miss() {
+		User user = new User(2L, "jane.doe@mail.com", "Jane Doe", 0L);
+		when(userRepository.existsById(2L)).thenReturn(true);
+		when(userRepository.getReferenceById(2L)).thenReturn(user);
+
+		assertSame(user, userService.getReference(2L));
+		verify(userRepository, never()).findById(anyLong());
+	}
+
+	@Test
+	void should_remember_existing_user_after_first_check() {
+		User user = new User(4L, "jim.doe@mail.com", "Jim Doe", 0L);
+		when(userRepository.existsById(4L)).thenReturn(true);
+		when(userRepository.getReferenceById(4L)).thenReturn(user);
+
+		userService.getReference(4L);
+		userService.getReference(4L);
+
+		verify(userRepository, times(1)).existsById(4L);
+	}
+
+	@Test
+	void should_fail_get_reference_when_user_not_found() {
+		when(userRepository.existsById(3L)).thenReturn(false);
+
+		NotFoundException thrown = assertThrows(NotFoundException.class, () -> userService.getReference(3L));
+
+		assertEquals("Пользователь с id = 3 не найден", thrown.getMessage());
+		verify(userRepository, never()).getReferenceById(anyLong());
+	}
 }
\ No newline at end of file